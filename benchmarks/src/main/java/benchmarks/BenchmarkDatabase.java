@@ -0,0 +1,107 @@
+package benchmarks;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+/**
+ * The BenchmarkDatabase class sets up the in-memory H2 database, in MySQL mode, that stands in for MySQL.
+ * The benchmark JVMs are forked with the db.url, db.user and db.password system properties pointing
+ * ConnectionFactory at this database.
+ */
+final class BenchmarkDatabase {
+
+    static final String URL = "jdbc:h2:mem:assignment3;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String USER = "sa";
+    static final String PASSWORD = "";
+
+    /**
+     * The JVM arguments every benchmark fork needs to reach the stand-in database.
+     */
+    static final String DB_URL_ARG = "-Ddb.url=" + URL;
+    static final String DB_USER_ARG = "-Ddb.user=" + USER;
+    static final String DB_PASSWORD_ARG = "-Ddb.password=" + PASSWORD;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Creates the client, product, orders, sales_summary and changelog tables, with the same columns as the MySQL dump,
+     * and fills all but the change log.
+     *
+     * @param clients the number of clients to insert
+     * @param products the number of products to insert
+     * @param orders the number of orders to insert
+     * @param stock the stock quantity of every product
+     * @throws SQLException if the database cannot be created
+     */
+    static void create(int clients, int products, int orders, int stock) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS client");
+            statement.execute("DROP TABLE IF EXISTS product");
+            statement.execute("DROP TABLE IF EXISTS orders");
+            statement.execute("DROP TABLE IF EXISTS sales_summary");
+            statement.execute("DROP TABLE IF EXISTS changelog");
+            statement.execute("CREATE TABLE client (client_id INT NOT NULL AUTO_INCREMENT, name VARCHAR(45) NOT NULL, "
+                    + "email VARCHAR(45) NOT NULL, address VARCHAR(45), phone_number VARCHAR(20), version INT NOT NULL DEFAULT 0, PRIMARY KEY (client_id))");
+            statement.execute("CREATE TABLE product (product_id INT NOT NULL AUTO_INCREMENT, name VARCHAR(45) NOT NULL, "
+                    + "price INT NOT NULL, stock_quantity INT NOT NULL, description VARCHAR(45), version INT NOT NULL DEFAULT 0, PRIMARY KEY (product_id))");
+            statement.execute("CREATE TABLE orders (order_id INT NOT NULL AUTO_INCREMENT, client_id INT, product_id INT, "
+                    + "quantity INT NOT NULL, order_date DATE, version INT NOT NULL DEFAULT 0, PRIMARY KEY (order_id))");
+            statement.execute("CREATE INDEX client_id_idx ON orders (client_id)");
+            statement.execute("CREATE INDEX product_id_idx ON orders (product_id)");
+            statement.execute("CREATE INDEX order_date_client_id_idx ON orders (order_date, client_id)");
+            statement.execute("CREATE TABLE sales_summary (order_date DATE NOT NULL, product_id INT NOT NULL, "
+                    + "order_count INT NOT NULL, units_sold BIGINT NOT NULL, "
+                    + "PRIMARY KEY (order_date, product_id))");
+            statement.execute("CREATE TABLE changelog (changelog_id BIGINT NOT NULL AUTO_INCREMENT, entity VARCHAR(16) NOT NULL, "
+                    + "entity_id INT NOT NULL, kind VARCHAR(12) NOT NULL, instance_id CHAR(36) NOT NULL, "
+                    + "changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (changelog_id))");
+            statement.execute("CREATE INDEX changelog_changed_at ON changelog (changed_at)");
+
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO client (name, email, address, phone_number) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= clients; i++) {
+                    insert.setString(1, "Client " + i);
+                    insert.setString(2, "client" + i + "@example.com");
+                    insert.setString(3, "Street " + i);
+                    insert.setString(4, String.format("07%08d", i));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO product (name, price, stock_quantity, description) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= products; i++) {
+                    insert.setString(1, "Product " + i);
+                    insert.setInt(2, 1 + i % 100);
+                    insert.setInt(3, stock);
+                    insert.setString(4, "Description " + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO orders (client_id, product_id, quantity, order_date) VALUES (?, ?, ?, ?)")) {
+                LocalDate start = LocalDate.of(2024, 1, 1);
+                for (int i = 1; i <= orders; i++) {
+                    insert.setInt(1, 1 + i % Math.max(1, clients));
+                    insert.setInt(2, 1 + i % Math.max(1, products));
+                    insert.setInt(3, 1 + i % 5);
+                    insert.setDate(4, Date.valueOf(start.plusDays(i % 365)));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            statement.execute("INSERT INTO sales_summary (order_date, product_id, order_count, units_sold) "
+                    + "SELECT order_date, product_id, COUNT(*), SUM(quantity) FROM orders GROUP BY order_date, product_id");
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import dataAcessLayer.ClientDAO;
+import dataAcessLayer.OrderDAO;
+import dataAcessLayer.ProductDAO;
+import model.Client;
+import model.Orders;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the DAO read paths against the in-memory stand-in database:
+ * loading whole tables, loading one row by id with and without the entity cache, and loading one page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {BenchmarkDatabase.DB_URL_ARG, BenchmarkDatabase.DB_USER_ARG, BenchmarkDatabase.DB_PASSWORD_ARG})
+public class DaoBenchmark {
+
+    private static final int CLIENTS = 1_000;
+    private static final int PRODUCTS = 1_000;
+    private static final int ORDERS = 10_000;
+
+    private final ClientDAO clientDAO = new ClientDAO();
+    private final ProductDAO productDAO = new ProductDAO();
+    private final OrderDAO orderDAO = new OrderDAO();
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.create(CLIENTS, PRODUCTS, ORDERS, 100);
+    }
+
+    @Benchmark
+    public List<Product> findAllProducts() {
+        return productDAO.getAllProducts();
+    }
+
+    @Benchmark
+    public List<Orders> findAllOrders() {
+        return orderDAO.getAllOrders();
+    }
+
+    @Benchmark
+    public Client findById() {
+        return clientDAO.findById(1 + ThreadLocalRandom.current().nextInt(CLIENTS), "client");
+    }
+
+    @Benchmark
+    public Client findByIdCached() {
+        return clientDAO.getClientById(1 + ThreadLocalRandom.current().nextInt(CLIENTS));
+    }
+
+    @Benchmark
+    public List<Orders> findPage() {
+        return orderDAO.getOrdersPage(ThreadLocalRandom.current().nextInt(ORDERS - 100), 100);
+    }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import businessLayer.OrderPlacementResult;
+import businessLayer.OrderPlacementService;
+import model.Orders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures placing orders through OrderPlacementService against the in-memory stand-in database,
+ * from one thread and from several threads ordering the same few products.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {BenchmarkDatabase.DB_URL_ARG, BenchmarkDatabase.DB_USER_ARG, BenchmarkDatabase.DB_PASSWORD_ARG})
+public class OrderPlacementBenchmark {
+
+    private static final int CLIENTS = 100;
+    private static final int PRODUCTS = 10;
+
+    private final OrderPlacementService orderPlacementService = new OrderPlacementService();
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.create(CLIENTS, PRODUCTS, 0, Integer.MAX_VALUE / 2);
+    }
+
+    @Benchmark
+    public OrderPlacementResult placeOrder() {
+        return orderPlacementService.placeOrder(newOrder());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public OrderPlacementResult placeOrderContended() {
+        return orderPlacementService.placeOrder(newOrder());
+    }
+
+    private static Orders newOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Orders(0, 1 + random.nextInt(CLIENTS), 1 + random.nextInt(PRODUCTS), 1, new Date());
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import dataAcessLayer.RowMapper;
+import model.Product;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures turning ResultSet rows into entities, the work done by AbstractDAO.createObject.
+ * The rows come from an in-memory result set so only the mapping is measured, not the database.
+ * The reflective variant reproduces the per-row introspection the DAOs used before RowMapper, as a baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    private SimpleResultSet resultSet;
+    private RowMapper<Product> rowMapper;
+
+    @Setup
+    public void setUp() {
+        resultSet = new SimpleResultSet();
+        resultSet.setAutoClose(false);
+        resultSet.addColumn("product_id", Types.INTEGER, 10, 0);
+        resultSet.addColumn("name", Types.VARCHAR, 45, 0);
+        resultSet.addColumn("price", Types.DOUBLE, 10, 0);
+        resultSet.addColumn("stock_quantity", Types.INTEGER, 10, 0);
+        resultSet.addColumn("description", Types.VARCHAR, 45, 0);
+        resultSet.addColumn("version", Types.INTEGER, 10, 0);
+        for (int i = 1; i <= rows; i++) {
+            resultSet.addRow(i, "Product " + i, (double) (i % 100), i % 50, "Description " + i, 0);
+        }
+        rowMapper = RowMapper.forType(Product.class);
+    }
+
+    @Benchmark
+    public void rowMapper(Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        int[] columns = rowMapper.resolveColumns(resultSet.getMetaData());
+        while (resultSet.next()) {
+            blackhole.consume(rowMapper.map(resultSet, columns));
+        }
+    }
+
+    @Benchmark
+    public void reflectionBaseline(Blackhole blackhole) throws Exception {
+        resultSet.beforeFirst();
+        while (resultSet.next()) {
+            Constructor<Product> constructor = Product.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            Product instance = constructor.newInstance();
+            for (Field field : Product.class.getDeclaredFields()) {
+                String fieldName = field.getName();
+                Object value = resultSet.getObject(fieldName);
+                if (value != null) {
+                    new PropertyDescriptor(fieldName, Product.class).getWriteMethod().invoke(instance, value);
+                }
+            }
+            blackhole.consume(instance);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package benchmarks;
+
+import businessLayer.ClientBLL;
+import model.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures client validation for a valid client and for a client with an invalid email.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final ClientBLL clientBLL = new ClientBLL();
+    private final Client validClient = new Client(1, "Pop Ion", "popion@yahoo.com", "0770355345", "Republicii 13");
+    private final Client invalidClient = new Client(2, "Onescu Ana", "anna13.yahoo.com", "0752865360", "Oasului 102");
+
+    @Benchmark
+    public Client validClient() {
+        clientBLL.validate(validClient);
+        return validClient;
+    }
+
+    @Benchmark
+    public String invalidClient() {
+        try {
+            clientBLL.validate(invalidClient);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -28,6 +28,7 @@ CREATE TABLE `client` (
   `email` varchar(45) NOT NULL,
   `address` varchar(45) DEFAULT NULL,
   `phone_number` varchar(20) DEFAULT NULL,
+  `version` int NOT NULL DEFAULT '0',
   PRIMARY KEY (`client_id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=9 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -38,7 +39,7 @@ CREATE TABLE `client` (
 
 LOCK TABLES `client` WRITE;
 /*!40000 ALTER TABLE `client` DISABLE KEYS */;
-INSERT INTO `client` VALUES (6,'Pop Ion','popion@yahoo.com','Republicii 13','0770355345'),(8,'Onescu Ana','anna13@yahoo.com','Oasului 102','0752865360');
+INSERT INTO `client` VALUES (6,'Pop Ion','popion@yahoo.com','Republicii 13','0770355345',0),(8,'Onescu Ana','anna13@yahoo.com','Oasului 102','0752865360',0);
 /*!40000 ALTER TABLE `client` ENABLE KEYS */;
 UNLOCK TABLES;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
@@ -28,9 +28,11 @@ CREATE TABLE `orders` (
   `product_id` int DEFAULT NULL,
   `quantity` int NOT NULL,
   `order_date` date DEFAULT NULL,
+  `version` int NOT NULL DEFAULT '0',
   PRIMARY KEY (`order_id`),
   KEY `client_id_idx` (`client_id`),
-  KEY `product_id_idx` (`product_id`)
+  KEY `product_id_idx` (`product_id`),
+  KEY `order_date_client_id_idx` (`order_date`,`client_id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=25 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -40,7 +42,7 @@ CREATE TABLE `orders` (
 
 LOCK TABLES `orders` WRITE;
 /*!40000 ALTER TABLE `orders` DISABLE KEYS */;
-INSERT INTO `orders` VALUES (3,NULL,4,1,'2024-05-21'),(4,NULL,5,1,'2024-05-22'),(19,8,5,1,'2024-05-23'),(21,7,8,1,'2024-05-23'),(22,6,8,1,'2024-05-15'),(23,7,4,1,'2024-05-05'),(24,6,6,1,'2024-05-23');
+INSERT INTO `orders` VALUES (3,NULL,4,1,'2024-05-21',0),(4,NULL,5,1,'2024-05-22',0),(19,8,5,1,'2024-05-23',0),(21,7,8,1,'2024-05-23',0),(22,6,8,1,'2024-05-15',0),(23,7,4,1,'2024-05-05',0),(24,6,6,1,'2024-05-23',0);
 /*!40000 ALTER TABLE `orders` ENABLE KEYS */;
 UNLOCK TABLES;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
@@ -0,0 +1,6 @@
+--
+-- Adds the index on the order date used by the client sales report to a database created from an older dump.
+-- Databases created from the current orders dump already have it.
+--
+
+ALTER TABLE `orders` ADD KEY `order_date_client_id_idx` (`order_date`,`client_id`);
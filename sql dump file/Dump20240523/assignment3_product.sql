@@ -28,6 +28,7 @@ CREATE TABLE `product` (
   `price` int NOT NULL,
   `stock_quantity` int NOT NULL,
   `description` varchar(45) DEFAULT NULL,
+  `version` int NOT NULL DEFAULT '0',
   PRIMARY KEY (`product_id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=9 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -38,7 +39,7 @@ CREATE TABLE `product` (
 
 LOCK TABLES `product` WRITE;
 /*!40000 ALTER TABLE `product` DISABLE KEYS */;
-INSERT INTO `product` VALUES (4,'Iced coffee',13,3,'de la Enigma'),(5,'Sorbet lamaie',30,0,'artizanal'),(6,'Corona',15,9,'bere 6% vol.'),(7,'Inghetata',50,5,'reteta Jamila'),(8,'Apa',1,92,'de izvor');
+INSERT INTO `product` VALUES (4,'Iced coffee',13,3,'de la Enigma',0),(5,'Sorbet lamaie',30,0,'artizanal',0),(6,'Corona',15,9,'bere 6% vol.',0),(7,'Inghetata',50,5,'reteta Jamila',0),(8,'Apa',1,92,'de izvor',0);
 /*!40000 ALTER TABLE `product` ENABLE KEYS */;
 UNLOCK TABLES;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
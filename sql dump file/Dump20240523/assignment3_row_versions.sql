@@ -0,0 +1,8 @@
+--
+-- Adds the row version used by the optimistic updates to a database created from an older dump.
+-- Databases created from the current client, product and orders dumps already have it.
+--
+
+ALTER TABLE `client` ADD COLUMN `version` int NOT NULL DEFAULT '0';
+ALTER TABLE `product` ADD COLUMN `version` int NOT NULL DEFAULT '0';
+ALTER TABLE `orders` ADD COLUMN `version` int NOT NULL DEFAULT '0';
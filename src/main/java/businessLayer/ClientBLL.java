@@ -1,7 +1,7 @@
 package businessLayer;
 
 import model.Client;
-import java.util.regex.Pattern;
+import java.util.List;
 
 /**
  * The ClientBLL class provides business logic for operations on Client objects.
@@ -11,42 +11,53 @@ public class ClientBLL {
     private static final String EMAIL_PATTERN = "^(.+)@(.+)$";
     private static final String PHONE_PATTERN = "^[0-9]{10}$";
 
+    private static final Validator<Client> VALIDATOR = Validator.<Client>builder()
+            .required(Client::getName, "Name is required!")
+            .required(Client::getEmail, "Email is required!")
+            .required(Client::getPhone_number, "Phone number is required!")
+            .required(Client::getAddress, "Address is required!")
+            .matches(Client::getEmail, EMAIL_PATTERN, "Invalid email format!")
+            .matches(Client::getPhone_number, PHONE_PATTERN, "Invalid phone number format! The phone number should contain exactly 10 digits.")
+            .minLength(Client::getName, 3, "Name is too short!")
+            .minLength(Client::getAddress, 5, "Address is too short!")
+            .maxLength(Client::getName, 44, "Name is too long!")
+            .maxLength(Client::getAddress, 44, "Address is too long!")
+            .maxLength(Client::getEmail, 44, "Email is too long!")
+            .build();
+
     /**
      * Validates the fields of a Client object.
-     * It checks if the email and phone number are in the correct format,
-     * and if the name and address have an appropriate length.
-     * If a field is not valid, it throws an IllegalArgumentException.
+     * It checks that every field is present, that the email and phone number are in the correct format,
+     * and that the name and address have an appropriate length.
+     * If a field is not valid, it throws an IllegalArgumentException listing every invalid field.
      *
      * @param client the Client object to be validated
      * @throws IllegalArgumentException if a field is not valid
      */
     public void validate(Client client) {
-        if (!Pattern.compile(EMAIL_PATTERN).matcher(client.getEmail()).matches()) {
-            throw new IllegalArgumentException("Invalid email format!");
-        }
-
-        if (!Pattern.compile(PHONE_PATTERN).matcher(client.getPhone_number()).matches()) {
-            throw new IllegalArgumentException("Invalid phone number format! The phone number should contain exactly 10 digits.");
-        }
-
-        if (client.getName().length() < 3) {
-            throw new IllegalArgumentException("Name is too short!");
-        }
-
-        if (client.getAddress().length() < 5) {
-            throw new IllegalArgumentException("Address is too short!");
-        }
-
-        if (client.getName().length()>44){
-            throw new IllegalArgumentException("Name is too long!");
+        List<String> violations = VALIDATOR.validate(client);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.join("\n", violations));
         }
+    }
 
-        if(client.getAddress().length()>44){
-            throw new IllegalArgumentException("Address is too long!");
-        }
+    /**
+     * Collects every validation error of a Client object without throwing.
+     *
+     * @param client the Client object to be validated
+     * @return the validation errors, empty if the client is valid
+     */
+    public List<String> violations(Client client) {
+        return VALIDATOR.validate(client);
+    }
 
-        if(client.getEmail().length()>44){
-            throw new IllegalArgumentException("Email is too long!");
-        }
+    /**
+     * Validates many Client objects in parallel, for example before a bulk import.
+     *
+     * @param clients the Client objects to be validated
+     * @return for each client, at the same index, its validation errors
+     */
+    public List<List<String>> validateAll(List<Client> clients) {
+        return VALIDATOR.validateAll(clients);
     }
-}
\ No newline at end of file
+}
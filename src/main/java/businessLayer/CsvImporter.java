@@ -0,0 +1,239 @@
+package businessLayer;
+
+import dataAcessLayer.BatchResult;
+import dataAcessLayer.ClientDAO;
+import dataAcessLayer.ProductDAO;
+import model.Client;
+import model.Product;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The CsvImporter class loads clients or products from CSV files of any size.
+ * The file is read one chunk of rows at a time: each chunk is parsed, validated in parallel through the
+ * entity's BLL and written with a batched insert before the next chunk is read, so memory use depends on the
+ * chunk size and not on the file size. Rows that cannot be parsed, fail validation or fail to insert are
+ * reported to the {@link ImportListener} and skipped.
+ * The rows are inserted without notifying anyone; once the import ends, the search index is marked stale
+ * and a single change is published, so open views reload once instead of once per chunk.
+ * The first line of the file must be a header naming the columns; the columns may appear in any order.
+ * Fields may be quoted with double quotes, but a field may not span several lines.
+ *
+ * @param <T> the type of the imported entities
+ */
+public class CsvImporter<T> {
+
+    /**
+     * The number of rows validated and written together.
+     */
+    public static final int CHUNK_SIZE = 5_000;
+
+    private final String[] columns;
+    private final RowParser<T> parser;
+    private final Function<List<T>, List<List<String>>> validator;
+    private final Function<List<T>, BatchResult<T>> writer;
+    private final Runnable announcer;
+
+    private CsvImporter(String[] columns, RowParser<T> parser, Function<List<T>, List<List<String>>> validator,
+                        Function<List<T>, BatchResult<T>> writer, Runnable announcer) {
+        this.columns = columns;
+        this.parser = parser;
+        this.validator = validator;
+        this.writer = writer;
+        this.announcer = announcer;
+    }
+
+    /**
+     * Creates an importer for client files with the columns name, email, phone_number and address.
+     *
+     * @return the client importer
+     */
+    public static CsvImporter<Client> forClients() {
+        ClientBLL clientBLL = new ClientBLL();
+        ClientDAO clientDAO = new ClientDAO();
+        return new CsvImporter<>(new String[]{"name", "email", "phone_number", "address"},
+                fields -> new Client(0, fields[0], fields[1], fields[2], fields[3]),
+                clientBLL::validateAll, clientDAO::insertAllUnannounced, clientDAO::announceBulkInsert);
+    }
+
+    /**
+     * Creates an importer for product files with the columns name, description, price and stock_quantity.
+     *
+     * @return the product importer
+     */
+    public static CsvImporter<Product> forProducts() {
+        ProductBLL productBLL = new ProductBLL();
+        ProductDAO productDAO = new ProductDAO();
+        return new CsvImporter<>(new String[]{"name", "description", "price", "stock_quantity"},
+                fields -> new Product(0, fields[0], fields[1], Double.parseDouble(fields[2]), Integer.parseInt(fields[3])),
+                productBLL::validateAll, productDAO::insertAllUnannounced, productDAO::announceBulkInsert);
+    }
+
+    /**
+     * Imports a CSV file.
+     *
+     * @param file the file to import
+     * @param listener receives progress and rejected rows
+     * @return the totals of the import
+     * @throws IOException if the file cannot be read or its header lacks a required column
+     */
+    public ImportReport importFile(Path file, ImportListener listener) throws IOException {
+        long imported = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return new ImportReport(0, 0, 0);
+            }
+            int[] positions = resolveHeader(splitLine(header));
+            long lineNumber = 1;
+            long rowsRead = 0;
+            long rejected = 0;
+            List<T> entities = new ArrayList<>(CHUNK_SIZE);
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            long[] lineNumbers = new long[CHUNK_SIZE];
+            String line;
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                while (entities.size() < CHUNK_SIZE) {
+                    line = reader.readLine();
+                    if (line == null) {
+                        endOfFile = true;
+                        break;
+                    }
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    rowsRead++;
+                    try {
+                        entities.add(parse(splitLine(line), positions));
+                        lineNumbers[lines.size()] = lineNumber;
+                        lines.add(line);
+                    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                        rejected++;
+                        listener.rejected(lineNumber, line, List.of("Cannot parse row: " + e.getMessage()));
+                    }
+                }
+                if (entities.isEmpty()) {
+                    listener.progress(rowsRead, imported, rejected);
+                    continue;
+                }
+                List<List<String>> violations = validator.apply(entities);
+                List<T> valid = new ArrayList<>(entities.size());
+                int[] validIndex = new int[entities.size()];
+                for (int i = 0; i < entities.size(); i++) {
+                    if (violations.get(i).isEmpty()) {
+                        validIndex[valid.size()] = i;
+                        valid.add(entities.get(i));
+                    } else {
+                        rejected++;
+                        listener.rejected(lineNumbers[i], lines.get(i), violations.get(i));
+                    }
+                }
+                BatchResult<T> result = writer.apply(valid);
+                imported += result.getSucceeded();
+                for (BatchResult.Failure<T> failure : result.getFailures()) {
+                    int i = validIndex[failure.getIndex()];
+                    rejected++;
+                    listener.rejected(lineNumbers[i], lines.get(i), List.of("Cannot insert row: " + failure.getMessage()));
+                }
+                entities.clear();
+                lines.clear();
+                listener.progress(rowsRead, imported, rejected);
+            }
+            return new ImportReport(rowsRead, imported, rejected);
+        } finally {
+            if (imported > 0) {
+                announcer.run();
+            }
+        }
+    }
+
+    /**
+     * Finds the position of every required column in the header.
+     *
+     * @param header the header fields
+     * @return the position in the header of each required column
+     * @throws IOException if a required column is missing
+     */
+    private int[] resolveHeader(List<String> header) throws IOException {
+        int[] positions = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            positions[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (header.get(j).trim().equalsIgnoreCase(columns[i])) {
+                    positions[i] = j;
+                }
+            }
+            if (positions[i] < 0) {
+                throw new IOException("Missing column '" + columns[i] + "' in CSV header");
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Builds an entity from the fields of a row.
+     *
+     * @param fields the fields of the row
+     * @param positions the position of each required column
+     * @return the entity
+     */
+    private T parse(List<String> fields, int[] positions) {
+        String[] values = new String[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            values[i] = fields.get(positions[i]).trim();
+        }
+        return parser.parse(values);
+    }
+
+    /**
+     * Splits one CSV line into fields, honouring double-quoted fields and doubled quotes inside them.
+     *
+     * @param line the line
+     * @return the fields
+     */
+    static List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Builds an entity from the values of its columns, in the importer's column order.
+     *
+     * @param <T> the type of the entity
+     */
+    @FunctionalInterface
+    private interface RowParser<T> {
+        T parse(String[] values);
+    }
+}
@@ -0,0 +1,30 @@
+package businessLayer;
+
+import java.util.List;
+
+/**
+ * The ImportListener interface receives progress and rejected rows while a bulk import runs.
+ * Both methods are called from the importing thread.
+ */
+public interface ImportListener {
+
+    /**
+     * Called after each chunk of rows has been validated and written.
+     *
+     * @param rowsRead the number of data rows read so far
+     * @param imported the number of rows written so far
+     * @param rejected the number of rows rejected so far
+     */
+    default void progress(long rowsRead, long imported, long rejected) {
+    }
+
+    /**
+     * Called for every row that was not imported.
+     *
+     * @param lineNumber the line number of the row in the file, starting at 1 for the header
+     * @param line the raw text of the row
+     * @param reasons why the row was rejected
+     */
+    default void rejected(long lineNumber, String line, List<String> reasons) {
+    }
+}
@@ -0,0 +1,33 @@
+package businessLayer;
+
+/**
+ * The ImportReport class summarizes a finished bulk import.
+ */
+public class ImportReport {
+    private final long rowsRead;
+    private final long imported;
+    private final long rejected;
+
+    public ImportReport(long rowsRead, long imported, long rejected) {
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.rejected = rejected;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReport{rowsRead=" + rowsRead + ", imported=" + imported + ", rejected=" + rejected + '}';
+    }
+}
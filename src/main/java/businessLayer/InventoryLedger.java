@@ -0,0 +1,323 @@
+package businessLayer;
+
+import dataAcessLayer.ChangeBus;
+import dataAcessLayer.ChangeEvent;
+import dataAcessLayer.ProductDAO;
+import model.Product;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The InventoryLedger class holds the live stock of every product used by this application instance.
+ * Each product has its own counter, guarded by its own short lock that is never held during database I/O,
+ * so reserving or releasing stock of different products never contends.
+ * Stock released back to a product (for example when an order is deleted) is applied in memory immediately
+ * and written to the product table asynchronously; several changes to the same product between two flushes
+ * are coalesced into a single relative update.
+ * Stock changed by another application instance is reloaded when its remote change event arrives.
+ * A reload only takes effect if no reservation or flush of the product was in progress while the stock was read,
+ * since the value read could otherwise include or miss that write; when one was, the reload runs again
+ * once the product has no write in progress.
+ */
+public class InventoryLedger {
+
+    private static final Logger LOGGER = Logger.getLogger(InventoryLedger.class.getName());
+    private static final long FLUSH_INTERVAL_MS = 200;
+    private static final int REFRESH_ATTEMPTS = 3;
+    private static final InventoryLedger singleInstance = new InventoryLedger();
+
+    private final ProductDAO productDAO = new ProductDAO();
+    private final Map<Integer, StockCounter> counters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final Consumer<ChangeEvent<Product>> remoteChangeListener = this::applyRemoteChange;
+
+    /**
+     * The constructor starts the background write-back of stock changes and listens to remote product changes.
+     */
+    private InventoryLedger() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-ledger-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        ChangeBus.subscribe(Product.class, remoteChangeListener);
+    }
+
+    /**
+     * Gets the ledger shared by the whole application.
+     *
+     * @return the inventory ledger
+     */
+    public static InventoryLedger getInstance() {
+        return singleInstance;
+    }
+
+    /**
+     * Gets the stock currently available for a product, loading it from the database on first use.
+     *
+     * @param productId the id of the product
+     * @return the available stock, 0 if the product does not exist
+     */
+    public int available(int productId) {
+        StockCounter counter = counter(productId);
+        if (counter == null) {
+            return 0;
+        }
+        synchronized (counter) {
+            return counter.available;
+        }
+    }
+
+    /**
+     * Reserves stock of a product if enough is available.
+     * The reservation is in memory only; the caller is responsible for the matching database change
+     * and must then call {@link #confirmReservation(int, int)}, or {@link #cancelReservation(int, int)}
+     * if the change does not happen.
+     *
+     * @param productId the id of the product
+     * @param quantity the quantity to reserve
+     * @return true if the stock was reserved, false if not enough stock is available
+     */
+    public boolean reserve(int productId, int quantity) {
+        StockCounter counter = counter(productId);
+        if (counter == null) {
+            return false;
+        }
+        synchronized (counter) {
+            if (counter.available < quantity) {
+                return false;
+            }
+            counter.available -= quantity;
+            counter.reserved += quantity;
+            counter.generation++;
+            return true;
+        }
+    }
+
+    /**
+     * Records that the database change of a reservation made with {@link #reserve(int, int)} was committed.
+     *
+     * @param productId the id of the product
+     * @param quantity the quantity that was reserved
+     */
+    public void confirmReservation(int productId, int quantity) {
+        StockCounter counter = counters.get(productId);
+        if (counter != null) {
+            synchronized (counter) {
+                counter.reserved -= quantity;
+            }
+            afterWrite(productId, counter);
+        }
+    }
+
+    /**
+     * Gives back stock reserved with {@link #reserve(int, int)} whose database change did not happen.
+     *
+     * @param productId the id of the product
+     * @param quantity the quantity that was reserved
+     */
+    public void cancelReservation(int productId, int quantity) {
+        StockCounter counter = counters.get(productId);
+        if (counter != null) {
+            synchronized (counter) {
+                counter.available += quantity;
+                counter.reserved -= quantity;
+            }
+            afterWrite(productId, counter);
+        }
+    }
+
+    /**
+     * Returns stock to a product, for example when an order is deleted.
+     * The stock is available immediately and written to the database by the next flush.
+     *
+     * @param productId the id of the product
+     * @param quantity the quantity to return
+     */
+    public void release(int productId, int quantity) {
+        StockCounter counter = counter(productId);
+        if (counter != null) {
+            synchronized (counter) {
+                counter.available += quantity;
+                counter.pendingDelta += quantity;
+            }
+        }
+    }
+
+    /**
+     * Reloads the stock of a product from the database, keeping changes not yet flushed.
+     * Should be called when the stock was changed directly in the database.
+     * If a reservation or flush of the product is in progress, the reload is deferred until it ends.
+     *
+     * @param productId the id of the product
+     */
+    public void refresh(int productId) {
+        for (int attempt = 0; attempt < REFRESH_ATTEMPTS; attempt++) {
+            StockCounter counter = counters.get(productId);
+            long generation = 0;
+            if (counter != null) {
+                synchronized (counter) {
+                    if (counter.isWriting()) {
+                        counter.refreshWanted = true;
+                        return;
+                    }
+                    generation = counter.generation;
+                }
+            }
+            Product product = productDAO.findById(productId, "product");
+            if (product == null) {
+                counters.remove(productId);
+                return;
+            }
+            if (counter == null) {
+                if (counters.putIfAbsent(productId, new StockCounter(product.getStock_quantity())) == null) {
+                    return;
+                }
+                continue;
+            }
+            synchronized (counter) {
+                if (counter.generation == generation) {
+                    counter.available = product.getStock_quantity() + counter.pendingDelta;
+                    return;
+                }
+                if (counter.isWriting()) {
+                    counter.refreshWanted = true;
+                    return;
+                }
+            }
+        }
+        LOGGER.log(Level.WARNING, "InventoryLedger:refresh product " + productId + " kept changing, not reloaded");
+    }
+
+    /**
+     * Reloads the stock of a product another application instance changed, if this ledger holds it.
+     *
+     * @param event the change event
+     */
+    private void applyRemoteChange(ChangeEvent<Product> event) {
+        if (!event.isRemote()) {
+            return;
+        }
+        if (event.getKind() == ChangeEvent.Kind.INVALIDATED) {
+            counters.keySet().forEach(this::refresh);
+        } else if (counters.containsKey(event.getId())) {
+            refresh(event.getId());
+        }
+    }
+
+    /**
+     * Writes every pending stock change to the database now.
+     * A change is kept as in flight until the write ends, so a concurrent reload neither loses nor repeats it.
+     */
+    public void flush() {
+        Map<Integer, Integer> deltas = new HashMap<>();
+        counters.forEach((productId, counter) -> {
+            synchronized (counter) {
+                if (counter.pendingDelta != 0) {
+                    deltas.put(productId, counter.pendingDelta);
+                    counter.flushing += counter.pendingDelta;
+                    counter.pendingDelta = 0;
+                    counter.generation++;
+                }
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        boolean written = false;
+        try {
+            productDAO.adjustStock(deltas);
+            written = true;
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "InventoryLedger:flush " + e.getMessage());
+        }
+        for (Map.Entry<Integer, Integer> delta : deltas.entrySet()) {
+            StockCounter counter = counters.get(delta.getKey());
+            if (counter != null) {
+                synchronized (counter) {
+                    counter.flushing -= delta.getValue();
+                    if (!written) {
+                        counter.pendingDelta += delta.getValue();
+                    }
+                }
+                afterWrite(delta.getKey(), counter);
+            }
+        }
+    }
+
+    /**
+     * Runs a reload that was deferred by a write, once the product has no write in progress.
+     *
+     * @param productId the id of the product
+     * @param counter the counter of the product
+     */
+    private void afterWrite(int productId, StockCounter counter) {
+        boolean reload;
+        synchronized (counter) {
+            reload = counter.refreshWanted && !counter.isWriting();
+            if (reload) {
+                counter.refreshWanted = false;
+            }
+        }
+        if (reload) {
+            flusher.execute(() -> refresh(productId));
+        }
+    }
+
+    /**
+     * Gets the counter of a product, loading its stock from the database on first use.
+     * The stock is read outside the map, so loading one product does not block the others.
+     *
+     * @param productId the id of the product
+     * @return the counter, or null if the product does not exist
+     */
+    private StockCounter counter(int productId) {
+        StockCounter counter = counters.get(productId);
+        if (counter != null) {
+            return counter;
+        }
+        Product product = productDAO.findById(productId, "product");
+        if (product == null) {
+            return null;
+        }
+        StockCounter loaded = new StockCounter(product.getStock_quantity());
+        StockCounter existing = counters.putIfAbsent(productId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * The StockCounter class holds the live stock of one product and the changes not yet in the database.
+     * Every field is guarded by the counter itself.
+     */
+    private static final class StockCounter {
+        private int available;
+        private int pendingDelta;
+        private int flushing;
+        private int reserved;
+        private long generation;
+        private boolean refreshWanted;
+
+        private StockCounter(int available) {
+            this.available = available;
+        }
+
+        /**
+         * Tells whether a database write of this product may be in progress:
+         * a reservation not yet confirmed or cancelled, or a flush not yet finished.
+         *
+         * @return true if a write may be in progress
+         */
+        private boolean isWriting() {
+            return reserved != 0 || flushing != 0;
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package businessLayer;
 
 import model.Orders;
+import java.util.List;
+
 /**
  * The OrderBLL class provides business logic for operations on Orders objects.
  * It includes a method for validating the fields of an Orders object.
  */
 public class OrderBLL {
 
+    private static final Validator<Orders> VALIDATOR = Validator.<Orders>builder()
+            .rule(orders -> orders.getQuantity() > 0, "Invalid quantity! The quantity should be a positive integer.")
+            .build();
+
     /**
      * Validates the fields of an Orders object.
      * It checks if the quantity is an integer.
@@ -16,8 +22,19 @@ public class OrderBLL {
      * @throws IllegalArgumentException if a field is not valid
      */
     public void validate(Orders orders) {
-        if (orders.getQuantity() <= 0) {
-            throw new IllegalArgumentException("Invalid quantity! The quantity should be a positive integer.");
+        List<String> violations = VALIDATOR.validate(orders);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.join("\n", violations));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Validates many Orders objects in parallel, for example before a bulk import.
+     *
+     * @param orders the Orders objects to be validated
+     * @return for each order, at the same index, its validation errors
+     */
+    public List<List<String>> validateAll(List<Orders> orders) {
+        return VALIDATOR.validateAll(orders);
+    }
+}
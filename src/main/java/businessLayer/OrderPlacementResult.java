@@ -0,0 +1,19 @@
+package businessLayer;
+
+/**
+ * The OrderPlacementResult enum describes the outcome of placing an order.
+ */
+public enum OrderPlacementResult {
+    /**
+     * The stock was reserved and the order was saved.
+     */
+    PLACED,
+    /**
+     * The product does not have enough stock left; nothing was saved.
+     */
+    OUT_OF_STOCK,
+    /**
+     * A database error occurred; nothing was saved.
+     */
+    FAILED
+}
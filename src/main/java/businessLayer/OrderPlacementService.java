@@ -0,0 +1,112 @@
+package businessLayer;
+
+import dataAcessLayer.OrderDAO;
+import dataAcessLayer.OrderWriter;
+import model.Orders;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The OrderPlacementService class places orders safely under concurrent checkouts.
+ * Orders are handed to a shared {@link OrderWriter}, which places the orders submitted at about the same time
+ * in one short transaction: the stock of each order is checked and taken with a single conditional UPDATE
+ * on the product row, so no table lock is needed and no stock update is lost, and the orders share one commit.
+ * The {@link InventoryLedger} is consulted first to reserve the stock in memory. When it reports too little stock,
+ * the conditional UPDATE still decides, since stock may have been added outside this application instance.
+ */
+public class OrderPlacementService {
+
+    private static final Logger LOGGER = Logger.getLogger(OrderPlacementService.class.getName());
+    private static final OrderWriter ORDER_WRITER = new OrderWriter();
+
+    private final OrderBLL orderBLL = new OrderBLL();
+    private final OrderDAO orderDAO = new OrderDAO();
+    private final InventoryLedger ledger = InventoryLedger.getInstance();
+
+    /**
+     * Places an order: validates it, takes its quantity out of the product's stock and saves it.
+     * If the order has no date, the current date is used. On success the generated id is stored in the order.
+     * The call waits until the group the order was written with is committed, at most a few milliseconds longer
+     * than writing it alone.
+     *
+     * @param order the order to be placed
+     * @return the outcome of the placement
+     * @throws IllegalArgumentException if the order is not valid
+     */
+    public OrderPlacementResult placeOrder(Orders order) {
+        orderBLL.validate(order);
+        boolean reserved = ledger.reserve(order.getProduct_id(), order.getQuantity());
+        boolean placed;
+        try {
+            placed = ORDER_WRITER.submit(order).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(order, reserved, e);
+        } catch (CompletionException | IllegalStateException e) {
+            return failed(order, reserved, e);
+        }
+        if (!placed) {
+            if (reserved) {
+                ledger.cancelReservation(order.getProduct_id(), order.getQuantity());
+            }
+            ledger.refresh(order.getProduct_id());
+            return OrderPlacementResult.OUT_OF_STOCK;
+        }
+        if (reserved) {
+            ledger.confirmReservation(order.getProduct_id(), order.getQuantity());
+        } else {
+            ledger.refresh(order.getProduct_id());
+        }
+        return OrderPlacementResult.PLACED;
+    }
+
+    /**
+     * Logs an order that could not be written and gives back its reservation.
+     *
+     * @param order the order
+     * @param reserved whether its stock was reserved in the ledger
+     * @param e the error
+     * @return {@link OrderPlacementResult#FAILED}
+     */
+    private OrderPlacementResult failed(Orders order, boolean reserved, Exception e) {
+        LOGGER.log(Level.WARNING, "OrderPlacementService:placeOrder " + e.getMessage());
+        if (reserved) {
+            ledger.cancelReservation(order.getProduct_id(), order.getQuantity());
+        }
+        return OrderPlacementResult.FAILED;
+    }
+
+    /**
+     * Deletes an order and returns its quantity to the product's stock through the inventory ledger.
+     * The quantity returned is the one stored in the database, and nothing is returned if the order was not deleted.
+     *
+     * @param order the order to be deleted
+     * @return true if the order was deleted
+     */
+    public boolean cancelOrder(Orders order) {
+        return cancelOrders(new int[]{order.getOrder_id()}) == 1;
+    }
+
+    /**
+     * Deletes several orders in one transaction and returns their quantities to stock through the inventory ledger.
+     * The quantities returned are the ones stored in the database.
+     *
+     * @param orderIds the ids of the orders to be deleted
+     * @return the number of orders deleted, 0 if the transaction failed
+     */
+    public int cancelOrders(int[] orderIds) {
+        List<Orders> deleted = orderDAO.deleteOrders(orderIds);
+        deleted.forEach(order -> ledger.release(order.getProduct_id(), order.getQuantity()));
+        return deleted.size();
+    }
+
+    /**
+     * Writes the orders still queued and stops the shared order writer.
+     * Called when the application exits; no order can be placed afterwards.
+     */
+    public static void shutdown() {
+        ORDER_WRITER.close();
+    }
+}
@@ -1,6 +1,7 @@
 package businessLayer;
 
 import model.Product;
+import java.util.List;
 
 /**
  * The ProductBLL class provides business logic for operations on Product objects.
@@ -8,21 +9,44 @@ import model.Product;
  */
 public class ProductBLL{
 
+    private static final Validator<Product> VALIDATOR = Validator.<Product>builder()
+            .required(Product::getName, "Product name is required!")
+            .maxLength(Product::getName, 44, "Product name is too long!")
+            .maxLength(Product::getDescription, 44, "Product description is too long!")
+            .build();
+
     /**
      * Validates the fields of a Product object.
-     * It checks if the name and description have an appropriate length.
-     * If a field is not valid, it throws an IllegalArgumentException.
+     * It checks that the name is present and that the name and description have an appropriate length.
+     * If a field is not valid, it throws an IllegalArgumentException listing every invalid field.
      *
      * @param product the Product object to be validated
      * @throws IllegalArgumentException if a field is not valid
      */
     public void validate(Product product) {
-        if (product.getName().length() > 44) {
-            throw new IllegalArgumentException("Product name is too long!");
+        List<String> violations = VALIDATOR.validate(product);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.join("\n", violations));
         }
+    }
 
-        if (product.getDescription().length() > 44) {
-            throw new IllegalArgumentException("Product description is too long!");
-        }
+    /**
+     * Collects every validation error of a Product object without throwing.
+     *
+     * @param product the Product object to be validated
+     * @return the validation errors, empty if the product is valid
+     */
+    public List<String> violations(Product product) {
+        return VALIDATOR.validate(product);
+    }
+
+    /**
+     * Validates many Product objects in parallel, for example before a bulk import.
+     *
+     * @param products the Product objects to be validated
+     * @return for each product, at the same index, its validation errors
+     */
+    public List<List<String>> validateAll(List<Product> products) {
+        return VALIDATOR.validateAll(products);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+package businessLayer;
+
+import dataAcessLayer.OrderDAO;
+import model.ClientSales;
+import model.DailySales;
+import model.ProductSales;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The ReportService class provides the sales reports of the application.
+ * Every report is a single aggregation query over a date range, so only the grouped rows leave the database.
+ * The product and daily reports read the sales summary, which the OrderDAO keeps up to date with one row per day
+ * and product, so their cost depends on the number of days and products rather than on the number of orders.
+ */
+public class ReportService {
+
+    private final OrderDAO orderDAO = new OrderDAO();
+
+    /**
+     * Gets the products with the highest revenue between two dates.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @param limit the maximum number of products
+     * @return the products, highest revenue first
+     * @throws IllegalArgumentException if the range or the limit is not valid
+     */
+    public List<ProductSales> topProducts(LocalDate from, LocalDate to, int limit) {
+        validate(from, to, limit);
+        return orderDAO.salesByProduct(Date.valueOf(from), Date.valueOf(to), limit);
+    }
+
+    /**
+     * Gets the clients with the highest revenue between two dates.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @param limit the maximum number of clients
+     * @return the clients, highest revenue first
+     * @throws IllegalArgumentException if the range or the limit is not valid
+     */
+    public List<ClientSales> topClients(LocalDate from, LocalDate to, int limit) {
+        validate(from, to, limit);
+        return orderDAO.salesByClient(Date.valueOf(from), Date.valueOf(to), limit);
+    }
+
+    /**
+     * Gets the revenue of every product sold between two dates.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @return the products sold in the range, highest revenue first
+     * @throws IllegalArgumentException if the range is not valid
+     */
+    public List<ProductSales> revenueByProduct(LocalDate from, LocalDate to) {
+        return topProducts(from, to, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the orders, units and revenue of every day between two dates.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @return one row per day with orders, in date order
+     * @throws IllegalArgumentException if the range is not valid
+     */
+    public List<DailySales> dailySales(LocalDate from, LocalDate to) {
+        validate(from, to, 1);
+        return orderDAO.salesByDay(Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Checks a report date range and row limit.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @param limit the maximum number of rows
+     * @throws IllegalArgumentException if a date is missing, the range is reversed or the limit is not positive
+     */
+    private static void validate(LocalDate from, LocalDate to, int limit) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both dates of the report range are required.");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The start date cannot be later than the end date.");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("The number of rows must be positive.");
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package businessLayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * The Validator class checks objects against a fixed list of rules built once per entity type.
+ * Every rule is run and every violation is collected, instead of stopping at the first one.
+ * The text rules pass on a missing (null) field, so a missing field is only reported by a {@link Builder#required} rule.
+ * Validating an object that breaks no rule allocates nothing: the rules are plain predicates,
+ * regular expressions reuse a per-thread Matcher, and the shared empty list is returned.
+ *
+ * @param <T> the type of the validated objects
+ */
+public final class Validator<T> {
+
+    private final List<Predicate<T>> checks;
+    private final List<String> messages;
+
+    private Validator(List<Predicate<T>> checks, List<String> messages) {
+        this.checks = List.copyOf(checks);
+        this.messages = List.copyOf(messages);
+    }
+
+    /**
+     * Starts building a validator.
+     *
+     * @param <T> the type of the validated objects
+     * @return a new builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Runs every rule against the object.
+     *
+     * @param object the object to be validated
+     * @return the messages of the broken rules in rule order, or an empty list if the object is valid
+     */
+    public List<String> validate(T object) {
+        List<String> violations = null;
+        for (int i = 0; i < checks.size(); i++) {
+            if (!checks.get(i).test(object)) {
+                if (violations == null) {
+                    violations = new ArrayList<>(2);
+                }
+                violations.add(messages.get(i));
+            }
+        }
+        return violations == null ? Collections.emptyList() : violations;
+    }
+
+    /**
+     * Validates many objects, splitting the work across the available cores.
+     *
+     * @param objects the objects to be validated
+     * @return for each object, at the same index, the messages of the rules it breaks
+     */
+    public List<List<String>> validateAll(List<T> objects) {
+        return IntStream.range(0, objects.size()).parallel().mapToObj(i -> validate(objects.get(i))).toList();
+    }
+
+    /**
+     * The Builder class collects the rules of a validator.
+     *
+     * @param <T> the type of the validated objects
+     */
+    public static final class Builder<T> {
+        private final List<Predicate<T>> checks = new ArrayList<>();
+        private final List<String> messages = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a rule the object must satisfy.
+         *
+         * @param check returns true if the object satisfies the rule
+         * @param message the message reported when the rule is broken
+         * @return this builder
+         */
+        public Builder<T> rule(Predicate<T> check, String message) {
+            checks.add(check);
+            messages.add(message);
+            return this;
+        }
+
+        /**
+         * Adds a rule that a text field must be present.
+         *
+         * @param field extracts the text field
+         * @param message the message reported when the field is null
+         * @return this builder
+         */
+        public Builder<T> required(Function<T, String> field, String message) {
+            return rule(object -> field.apply(object) != null, message);
+        }
+
+        /**
+         * Adds a rule that a text field must fully match a regular expression, if it is present.
+         * The pattern is compiled once and each thread reuses its own Matcher.
+         *
+         * @param field extracts the text field
+         * @param regex the regular expression
+         * @param message the message reported when the field does not match
+         * @return this builder
+         */
+        public Builder<T> matches(Function<T, String> field, String regex, String message) {
+            Pattern pattern = Pattern.compile(regex);
+            ThreadLocal<Matcher> matcher = ThreadLocal.withInitial(() -> pattern.matcher(""));
+            return rule(object -> {
+                String value = field.apply(object);
+                return value == null || matcher.get().reset(value).matches();
+            }, message);
+        }
+
+        /**
+         * Adds a rule that a text field must have at least the given length, if it is present.
+         *
+         * @param field extracts the text field
+         * @param minLength the minimum length
+         * @param message the message reported when the field is too short
+         * @return this builder
+         */
+        public Builder<T> minLength(Function<T, String> field, int minLength, String message) {
+            return rule(object -> {
+                String value = field.apply(object);
+                return value == null || value.length() >= minLength;
+            }, message);
+        }
+
+        /**
+         * Adds a rule that a text field must have at most the given length, if it is present.
+         *
+         * @param field extracts the text field
+         * @param maxLength the maximum length
+         * @param message the message reported when the field is too long
+         * @return this builder
+         */
+        public Builder<T> maxLength(Function<T, String> field, int maxLength, String message) {
+            return rule(object -> {
+                String value = field.apply(object);
+                return value == null || value.length() <= maxLength;
+            }, message);
+        }
+
+        /**
+         * Builds the validator.
+         *
+         * @return the validator with the rules added so far
+         */
+        public Validator<T> build() {
+            return new Validator<>(checks, messages);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package connection;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The ConnectionAcquireEvent class is the Java Flight Recorder event of one wait for a pooled connection.
+ * Its duration is the time spent in {@link ConnectionFactory#getConnection()}.
+ */
+@Name("connection.ConnectionAcquire")
+@Label("Connection Acquire")
+@Category({"Order Management", "Database"})
+@Description("Time spent waiting for a pooled database connection")
+public class ConnectionAcquireEvent extends Event {
+
+    @Label("Acquired")
+    @Description("False if no connection could be acquired")
+    boolean acquired;
+}
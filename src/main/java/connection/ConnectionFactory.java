@@ -1,25 +1,40 @@
 package connection;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * The ConnectionFactory class manages the database connection.
  * It provides methods for creating and closing the connection, statement, and result set.
+ * Connections are served from a bounded {@link ConnectionPool}, so closing them returns them to the pool.
+ * The database url, user and password can be overridden with the db.url, db.user and db.password system properties.
+ * The time spent acquiring each connection is recorded in {@link #getAcquireMetrics()} and, while Java Flight Recorder
+ * is recording, as a {@link ConnectionAcquireEvent}.
  */
 public class ConnectionFactory {
 
     private static final Logger LOGGER = Logger.getLogger(ConnectionFactory.class.getName());
     private static final String DRIVER = "com.mysql.cj.jdbc.Driver";
-    private static final String DBURL = "jdbc:mysql://localhost:3306/assignment3";
-    private static final String USER = "root";
-    private static final String PASS = "1234";
+    private static final String DBURL = System.getProperty("db.url",
+            "jdbc:mysql://localhost:3306/assignment3?rewriteBatchedStatements=true&useCursorFetch=true");
+    private static final String USER = System.getProperty("db.user", "root");
+    private static final String PASS = System.getProperty("db.password", "1234");
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long ACQUIRE_TIMEOUT_MS = 5_000;
+    private static final long MAX_LIFETIME_MS = 30 * 60_000;
+    private static final long IDLE_VALIDATION_MS = 30_000;
+    private static final long LEAK_DETECTION_MS = 60_000;
 
     private static final ConnectionFactory singleInstance = new ConnectionFactory();
 
+    private final ConnectionPool pool;
+    private final OperationMetrics acquireMetrics = new OperationMetrics("connection.acquire");
+
     /**
-     * The constructor loads the JDBC driver.
+     * The constructor loads the JDBC driver and sets up the connection pool.
      */
     private ConnectionFactory() {
         try {
@@ -27,35 +42,61 @@ public class ConnectionFactory {
         } catch (ClassNotFoundException e) {
             e.printStackTrace();
         }
+        pool = new ConnectionPool(DBURL, USER, PASS, POOL_MAX_SIZE, ACQUIRE_TIMEOUT_MS,
+                MAX_LIFETIME_MS, IDLE_VALIDATION_MS, LEAK_DETECTION_MS);
     }
 
     /**
-     * Creates a new database connection.
+     * Acquires a connection from the pool.
      *
-     * @return the new connection
+     * @return the pooled connection
+     * @throws SQLException if no connection could be acquired in time or a new one could not be opened
      */
-    private Connection createConnection() {
-        Connection connection = null;
+    private Connection createConnection() throws SQLException {
+        ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean acquired = false;
         try {
-            connection = DriverManager.getConnection(DBURL, USER, PASS);
+            Connection connection = pool.acquire();
+            acquireMetrics.record(System.nanoTime() - start, 0);
+            acquired = true;
+            return connection;
         } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, "An error occured while trying to connect to the database");
-            e.printStackTrace();
+            acquireMetrics.recordError(System.nanoTime() - start);
+            LOGGER.log(Level.WARNING, "An error occured while trying to connect to the database: " + e.getMessage());
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.acquired = acquired;
+                event.commit();
+            }
         }
-        return connection;
     }
 
     /**
-     * Gets a new database connection.
+     * Gets a database connection from the pool.
      *
-     * @return the new connection
+     * @return the pooled connection, never null
+     * @throws SQLException if no connection could be acquired in time or a new one could not be opened
      */
-    public static Connection getConnection() {
+    public static Connection getConnection() throws SQLException {
         return singleInstance.createConnection();
     }
 
     /**
-     * Closes the given connection.
+     * Gets the metrics of connection acquisition: how long callers waited for a pooled connection
+     * and how many gave up.
+     *
+     * @return the acquisition metrics
+     */
+    public static OperationMetrics getAcquireMetrics() {
+        return singleInstance.acquireMetrics;
+    }
+
+    /**
+     * Closes the given connection, returning it to the pool.
      *
      * @param connection the connection to close
      */
@@ -69,6 +110,32 @@ public class ConnectionFactory {
         }
     }
 
+    /**
+     * Opens pooled connections ahead of time, so the first operations do not pay for connecting.
+     * The connections are acquired together and then returned to the pool, where they stay idle.
+     *
+     * @param connections the number of connections to open, at most the size of the pool
+     */
+    public static void warmUp(int connections) {
+        List<Connection> opened = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.min(connections, POOL_MAX_SIZE); i++) {
+                opened.add(getConnection());
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "ConnectionFactory:warmUp " + e.getMessage());
+        }
+        opened.forEach(ConnectionFactory::close);
+    }
+
+    /**
+     * Closes every idle pooled connection.
+     * Should be called once when the application shuts down.
+     */
+    public static void shutdown() {
+        singleInstance.pool.shutdown();
+    }
+
     /**
      * Closes the given statement.
      *
@@ -0,0 +1,313 @@
+package connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The ConnectionPool class keeps a bounded set of physical database connections and hands them out to callers.
+ * Connections returned by {@link #acquire()} are proxies whose {@code close()} gives the physical connection
+ * back to the pool instead of closing it, so existing try-with-resources code keeps working unchanged.
+ * Every acquisition gets its own proxy, so a holder that closes its connection twice, or uses it after closing it,
+ * cannot affect the next borrower of the same physical connection.
+ * Idle connections are validated before reuse, connections older than the maximum lifetime are evicted,
+ * and connections held longer than the leak detection threshold are reported.
+ */
+class ConnectionPool {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final long acquireTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final long idleValidationMillis;
+    private final long leakDetectionMillis;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Map<Lease, Boolean> leased = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a pool for the given database.
+     *
+     * @param url the JDBC url
+     * @param user the database user
+     * @param password the database password
+     * @param maxSize the maximum number of physical connections open at the same time
+     * @param acquireTimeoutMillis how long a caller waits for a free connection before giving up
+     * @param maxLifetimeMillis the age after which a connection is closed instead of being reused
+     * @param idleValidationMillis how long a connection may stay idle before it is validated again on acquire
+     * @param leakDetectionMillis how long a connection may be held before a leak is reported, 0 to disable
+     */
+    ConnectionPool(String url, String user, String password, int maxSize, long acquireTimeoutMillis,
+                   long maxLifetimeMillis, long idleValidationMillis, long leakDetectionMillis) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.idleValidationMillis = idleValidationMillis;
+        this.leakDetectionMillis = leakDetectionMillis;
+        this.permits = new Semaphore(maxSize, true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, Math.min(idleValidationMillis, leakDetectionMillis > 0 ? leakDetectionMillis : idleValidationMillis) / 2);
+        housekeeper.scheduleWithFixedDelay(this::houseKeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Acquires a connection from the pool, opening a new physical connection if no idle one is usable.
+     *
+     * @return a pooled connection whose close method returns it to the pool
+     * @throws SQLException if no connection becomes available in time, a new one cannot be opened or the pool is shut down
+     */
+    Connection acquire() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("The connection pool is shut down");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + acquireTimeoutMillis + " ms waiting for a pooled connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = open();
+            }
+            Lease lease = new Lease(pooled, leakDetectionMillis > 0);
+            leased.put(lease, Boolean.TRUE);
+            return lease.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes every idle connection and stops the housekeeping thread.
+     * Connections still leased are closed when they are returned.
+     */
+    void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    /**
+     * Opens a new physical connection.
+     *
+     * @return the new pooled connection
+     * @throws SQLException if the connection cannot be opened
+     */
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        try {
+            return new PooledConnection(physical);
+        } catch (SQLException e) {
+            physical.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the most recently used idle connection that is still alive, discarding expired or broken ones.
+     *
+     * @return a usable idle connection, or null if none is left
+     */
+    private PooledConnection takeIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            long now = System.currentTimeMillis();
+            if (pooled.isExpired(now)) {
+                pooled.closePhysical();
+                continue;
+            }
+            if (now - pooled.lastReturnedAt >= idleValidationMillis && !pooled.isValid()) {
+                pooled.closePhysical();
+                continue;
+            }
+            return pooled;
+        }
+        return null;
+    }
+
+    /**
+     * Gives a connection back to the pool, resetting any transaction, read-only or isolation state the caller left behind.
+     * After {@link #shutdown()} the physical connection is closed instead.
+     *
+     * @param lease the lease being ended
+     */
+    private void release(Lease lease) {
+        if (leased.remove(lease) == null) {
+            return;
+        }
+        PooledConnection pooled = lease.pooled;
+        try {
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            if (lease.readOnlyChanged) {
+                pooled.physical.setReadOnly(false);
+            }
+            if (lease.isolationChanged) {
+                pooled.physical.setTransactionIsolation(pooled.defaultIsolation);
+            }
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            if (shutdown || pooled.isExpired(pooled.lastReturnedAt) || pooled.physical.isClosed()) {
+                pooled.closePhysical();
+            } else {
+                idle.offerFirst(pooled);
+                if (shutdown && idle.remove(pooled)) {
+                    pooled.closePhysical();
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "An error occured while returning a connection to the pool, discarding it");
+            pooled.closePhysical();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Evicts expired idle connections and reports connections held longer than the leak detection threshold.
+     */
+    private void houseKeep() {
+        long now = System.currentTimeMillis();
+        for (PooledConnection pooled : idle) {
+            if (pooled.isExpired(now) && idle.remove(pooled)) {
+                pooled.closePhysical();
+            }
+        }
+        if (leakDetectionMillis > 0) {
+            for (Lease lease : leased.keySet()) {
+                if (!lease.leakReported && now - lease.leasedAt > leakDetectionMillis) {
+                    lease.leakReported = true;
+                    LOGGER.log(Level.WARNING, "Possible connection leak: connection held for more than "
+                            + leakDetectionMillis + " ms", lease.leaseTrace);
+                }
+            }
+        }
+    }
+
+    /**
+     * The PooledConnection class wraps one physical connection together with its pool bookkeeping.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final int defaultIsolation;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastReturnedAt = createdAt;
+
+        private PooledConnection(Connection physical) throws SQLException {
+            this.physical = physical;
+            this.defaultIsolation = physical.getTransactionIsolation();
+        }
+
+        private boolean isExpired(long now) {
+            return now - createdAt >= maxLifetimeMillis;
+        }
+
+        private boolean isValid() {
+            try {
+                return physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "An error occured while trying to close a pooled connection");
+            }
+        }
+    }
+
+    /**
+     * The Lease class is one acquisition of a pooled connection and the proxy handed to the caller for it.
+     * Once the lease is returned, its proxy rejects every call except {@code close()}, which does nothing.
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final Connection proxy;
+        private final long leasedAt = System.currentTimeMillis();
+        private final Throwable leaseTrace;
+        private final AtomicBoolean returned = new AtomicBoolean();
+        private volatile boolean leakReported;
+        private volatile boolean readOnlyChanged;
+        private volatile boolean isolationChanged;
+
+        private Lease(PooledConnection pooled, boolean captureTrace) {
+            this.pooled = pooled;
+            this.leaseTrace = captureTrace ? new Throwable("Connection acquired here") : null;
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    if (returned.get()) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    if (method.getName().equals("setReadOnly")) {
+                        readOnlyChanged = true;
+                    } else if (method.getName().equals("setTransactionIsolation")) {
+                        isolationChanged = true;
+                    }
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package connection;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The OperationMetrics class records the calls of one database operation: their durations, the rows they touched
+ * and how many failed. Recording is lock-free, so many threads can record the same operation without contending.
+ */
+public final class OperationMetrics implements OperationMetricsMBean {
+
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Creates the metrics of an operation.
+     *
+     * @param name the name of the operation, used when the metrics are logged
+     */
+    public OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a successful call.
+     *
+     * @param nanos the duration of the call in nanoseconds
+     * @param rowCount the number of rows read or written
+     */
+    public void record(long nanos, long rowCount) {
+        latencies.record(nanos);
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+    }
+
+    /**
+     * Records a failed call.
+     *
+     * @param nanos the duration of the call in nanoseconds
+     */
+    public void recordError(long nanos) {
+        latencies.record(nanos);
+        errors.increment();
+    }
+
+    /**
+     * Gets the name of the operation.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the histogram of the call durations.
+     *
+     * @return the latency histogram
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public long getCalls() {
+        return latencies.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latencies.getMean() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latencies.getPercentile(0.5) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latencies.getPercentile(0.99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latencies.getPercentile(0.999) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latencies.getMax() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public void reset() {
+        latencies.reset();
+        rows.reset();
+        errors.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s calls=%d errors=%d rows=%d mean=%.1fus p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus",
+                name, getCalls(), getErrors(), getRows(), getMeanMicros(), getP50Micros(), getP99Micros(),
+                getP999Micros(), getMaxMicros());
+    }
+}
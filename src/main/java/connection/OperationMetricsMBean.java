@@ -0,0 +1,69 @@
+package connection;
+
+/**
+ * The OperationMetricsMBean interface is the JMX view of an {@link OperationMetrics}.
+ * Durations are reported in microseconds.
+ */
+public interface OperationMetricsMBean {
+
+    /**
+     * Gets the number of calls, failed or not.
+     *
+     * @return the number of calls
+     */
+    long getCalls();
+
+    /**
+     * Gets the number of failed calls.
+     *
+     * @return the number of errors
+     */
+    long getErrors();
+
+    /**
+     * Gets the number of rows read or written by the calls.
+     *
+     * @return the number of rows
+     */
+    long getRows();
+
+    /**
+     * Gets the mean duration of a call.
+     *
+     * @return the mean in microseconds
+     */
+    double getMeanMicros();
+
+    /**
+     * Gets the median duration of a call.
+     *
+     * @return the 50th percentile in microseconds
+     */
+    double getP50Micros();
+
+    /**
+     * Gets the 99th percentile of the duration of a call.
+     *
+     * @return the 99th percentile in microseconds
+     */
+    double getP99Micros();
+
+    /**
+     * Gets the 99.9th percentile of the duration of a call.
+     *
+     * @return the 99.9th percentile in microseconds
+     */
+    double getP999Micros();
+
+    /**
+     * Gets the longest duration of a call.
+     *
+     * @return the maximum in microseconds
+     */
+    double getMaxMicros();
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    void reset();
+}
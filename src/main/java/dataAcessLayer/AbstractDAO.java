@@ -1,21 +1,28 @@
 package dataAcessLayer;
 
 import connection.ConnectionFactory;
-import java.beans.IntrospectionException;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import connection.OperationMetrics;
 import java.lang.reflect.ParameterizedType;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 /**
  * The AbstractDAO class provides a generic data access object implementation.
  * It includes methods for common database operations such as insert, update, delete, and find.
+ * The duration, row count and failures of every operation are recorded in {@link DaoMetrics}
+ * and, while Java Flight Recorder is recording, as {@link SqlExecutionEvent}s.
+ * Every write records its change in the {@link ChangeFeed} log in the same transaction.
  *
  * @param <T> the type of the object mapped to a database table
  */
@@ -23,159 +30,890 @@ public class AbstractDAO<T> {
 
     protected static final Logger LOGGER = Logger.getLogger(AbstractDAO.class.getName());
 
+    /**
+     * The default number of rows sent and committed together by the batch operations.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * The number of rows fetched per round trip by the streaming queries.
+     */
+    public static final int STREAM_FETCH_SIZE = 1000;
+    /**
+     * The column holding the version of versioned records, incremented by every update.
+     */
+    protected static final String VERSION_COLUMN = "version";
+    private static final int MAX_MERGE_ATTEMPTS = 3;
+
     private final Class<T> type;
     private final String tableName;
+    private final String idColumn;
+    private final RowMapper<T> rowMapper;
+    private final OperationMetrics insertMetrics;
+    private final OperationMetrics updateMetrics;
+    private final OperationMetrics deleteMetrics;
+    private final OperationMetrics findByIdMetrics;
+    private final OperationMetrics findAllMetrics;
+    private final OperationMetrics queryMetrics;
+    private final OperationMetrics batchMetrics;
+    private final OperationMetrics findByIdsMetrics;
+    private final OperationMetrics deleteByIdsMetrics;
+    private final OperationMetrics updateByIdsMetrics;
+    private int batchSize = DEFAULT_BATCH_SIZE;
 
     /**
      * Constructs an AbstractDAO for the given type.
      * The table name is determined by the simple name of the class in lowercase.
+     * The metrics of the operations are looked up once here, so recording them needs no lookup.
      */
     @SuppressWarnings("unchecked")
     public AbstractDAO() {
         this.type = (Class<T>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[0];
         this.tableName = type.getSimpleName().toLowerCase();
+        this.idColumn = tableName.endsWith("s") ? tableName.substring(0, tableName.length() - 1) + "_id" : tableName + "_id";
+        this.rowMapper = RowMapper.forType(type);
+        this.insertMetrics = DaoMetrics.forOperation(type, "insert");
+        this.updateMetrics = DaoMetrics.forOperation(type, "update");
+        this.deleteMetrics = DaoMetrics.forOperation(type, "delete");
+        this.findByIdMetrics = DaoMetrics.forOperation(type, "findById");
+        this.findAllMetrics = DaoMetrics.forOperation(type, "findAll");
+        this.queryMetrics = DaoMetrics.forOperation(type, "query");
+        this.batchMetrics = DaoMetrics.forOperation(type, "batch");
+        this.findByIdsMetrics = DaoMetrics.forOperation(type, "findByIds");
+        this.deleteByIdsMetrics = DaoMetrics.forOperation(type, "deleteByIds");
+        this.updateByIdsMetrics = DaoMetrics.forOperation(type, "updateByIds");
     }
 
     /**
-     * Inserts a new record into the database.
+     * Inserts a new record into the database in one transaction together with its change log entry.
      *
      * @param t the object to be inserted
      * @param query the SQL query to be executed
      * @param values the values to be inserted
+     * @return the generated id of the new record, or 0 if the record was not inserted
+     */
+    public int insert(T t, String query, Object... values) {
+        int[] id = new int[1];
+        int rows = inTransaction("insert", insertMetrics, query, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+                bind(statement, values);
+                int inserted = statement.executeUpdate();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    id[0] = keys.next() ? keys.getInt(1) : 0;
+                }
+                if (id[0] > 0) {
+                    recordChange(connection, ChangeEvent.Kind.INSERTED, id[0]);
+                }
+                return inserted;
+            }
+        });
+        return rows < 0 ? 0 : id[0];
+    }
+
+    /**
+     * Retrieves all records from the database.
+     * Intended for small tables; large tables should be read through {@link #streamAll()}.
+     *
+     * @return a list of all records
      */
-    public void insert(T t, String query, Object... values) {
+    public List<T> findAll() {
+        SqlCall call = SqlCall.start(findAllMetrics, "SELECT * FROM " + tableName);
+        try (Stream<T> entities = streamAll()) {
+            List<T> all = entities.collect(Collectors.toCollection(ArrayList::new));
+            call.succeeded(all.size());
+            return all;
+        } catch (IllegalStateException e) {
+            call.failed();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Streams all records from the database.
+     * Rows are fetched lazily while the stream is consumed, so memory use does not depend on the table size.
+     * The stream holds a database connection and must be closed, preferably with try-with-resources.
+     *
+     * @return a closeable stream of all records
+     */
+    public Stream<T> streamAll() {
+        return stream("SELECT * FROM " + tableName);
+    }
+
+    /**
+     * Runs a query and streams the resulting records.
+     * The statement is forward-only and read-only with a positive fetch size; together with {@code useCursorFetch}
+     * on the connection url, MySQL serves the rows from a server-side cursor {@link #STREAM_FETCH_SIZE} at a time
+     * instead of the driver buffering the whole result.
+     * Closing the stream closes the result set, the statement and the connection.
+     *
+     * @param query the SQL query to be executed
+     * @param values the values of the query parameters
+     * @return a closeable stream of the records, empty if the query could not be executed
+     */
+    protected Stream<T> stream(String query, Object... values) {
+        return stream(rowMapper, query, values);
+    }
+
+    /**
+     * Runs a query whose rows are not records of this table, such as a join, and streams them as the given type.
+     * The columns of the query must be labeled after the fields of the row type.
+     * Closing the stream closes the result set, the statement and the connection.
+     *
+     * @param rowType the class of the rows
+     * @param query the SQL query to be executed
+     * @param values the values of the query parameters
+     * @param <R> the type of the rows
+     * @return a closeable stream of the rows, empty if the query could not be executed
+     */
+    protected <R> Stream<R> stream(Class<R> rowType, String query, Object... values) {
+        return stream(RowMapper.forType(rowType), query, values);
+    }
+
+    /**
+     * Runs a query and streams the resulting rows, mapped with the given mapper.
+     *
+     * @param mapper the row mapper
+     * @param query the SQL query to be executed
+     * @param values the values of the query parameters
+     * @param <R> the type of the rows
+     * @return a closeable stream of the rows, empty if the query could not be executed
+     */
+    private <R> Stream<R> stream(RowMapper<R> mapper, String query, Object... values) {
         Connection connection = null;
         PreparedStatement statement = null;
+        ResultSet resultSet = null;
         try {
             connection = ConnectionFactory.getConnection();
-            statement = connection.prepareStatement(query);
-
+            statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
             for (int i = 0; i < values.length; i++) {
                 statement.setObject(i + 1, values[i]);
             }
-            statement.executeUpdate();
+            resultSet = statement.executeQuery();
+            int[] columns = mapper.resolveColumns(resultSet.getMetaData());
+            ResultSet rows = resultSet;
+            Connection streamConnection = connection;
+            PreparedStatement streamStatement = statement;
+            Spliterator<R> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super R> action) {
+                    try {
+                        if (!rows.next()) {
+                            return false;
+                        }
+                        action.accept(mapper.map(rows, columns));
+                        return true;
+                    } catch (SQLException e) {
+                        LOGGER.log(Level.WARNING, "Error streaming records from " + tableName, e);
+                        throw new IllegalStateException("Error streaming records from " + tableName, e);
+                    }
+                }
+            };
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                ConnectionFactory.close(rows);
+                ConnectionFactory.close(streamStatement);
+                ConnectionFactory.close(streamConnection);
+            });
         } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, type.getSimpleName() + "DAO:insert " + e.getMessage());
-        } finally {
+            LOGGER.log(Level.WARNING, "Error fetching records from " + tableName, e);
+            ConnectionFactory.close(resultSet);
             ConnectionFactory.close(statement);
             ConnectionFactory.close(connection);
+            return Stream.empty();
         }
     }
 
     /**
-     * Retrieves all records from the database.
+     * Retrieves the page of records that follows the given id, ordered by id.
+     * Uses a keyset (seek) query on the primary key, so the cost of a page does not grow with its position.
      *
-     * @return a list of all records
+     * @param afterId the id of the last record of the previous page, or 0 for the first page
+     * @param pageSize the maximum number of records to return
+     * @return the records of the page
      */
-    public List<T> findAll() {
-        List<T> entities = new ArrayList<>();
+    public List<T> findPage(int afterId, int pageSize) {
+        return query("SELECT * FROM " + tableName + " WHERE " + idColumn + " > ? ORDER BY " + idColumn + " LIMIT ?",
+                afterId, pageSize);
+    }
+
+    /**
+     * Retrieves the page of records that follows the given position, ordered by the sort column and then by id.
+     * Uses a keyset (seek) query on (sort column, primary key), with the id breaking ties between equal sort values.
+     *
+     * @param afterSortValue the sort column value of the last record of the previous page, or null for the first page
+     * @param afterId the id of the last record of the previous page
+     * @param pageSize the maximum number of records to return
+     * @param sortColumn the column to sort by, which must be a column of the table
+     * @return the records of the page
+     */
+    public List<T> findPage(Object afterSortValue, int afterId, int pageSize, String sortColumn) {
+        if (!rowMapper.hasColumn(sortColumn)) {
+            throw new IllegalArgumentException("Unknown sort column " + sortColumn + " for " + tableName);
+        }
+        if (sortColumn.equalsIgnoreCase(idColumn)) {
+            return findPage(afterId, pageSize);
+        }
+        String orderBy = " ORDER BY " + sortColumn + ", " + idColumn + " LIMIT ?";
+        if (afterSortValue == null) {
+            return query("SELECT * FROM " + tableName + orderBy, pageSize);
+        }
+        return query("SELECT * FROM " + tableName + " WHERE (" + sortColumn + ", " + idColumn + ") > (?, ?)" + orderBy,
+                afterSortValue, afterId, pageSize);
+    }
+
+    /**
+     * Runs a query and collects the resulting records into a list.
+     *
+     * @param query the SQL query to be executed
+     * @param values the values of the query parameters
+     * @return the records returned by the query
+     */
+    protected List<T> query(String query, Object... values) {
+        return query(rowMapper, query, values);
+    }
+
+    /**
+     * Runs a query whose rows are not records of this table, such as an aggregation, and maps them to the given type.
+     * The columns of the query must be labeled after the fields of the row type.
+     *
+     * @param rowType the class of the rows
+     * @param query the SQL query to be executed
+     * @param values the values of the query parameters
+     * @param <R> the type of the rows
+     * @return the rows returned by the query
+     */
+    protected <R> List<R> query(Class<R> rowType, String query, Object... values) {
+        return query(RowMapper.forType(rowType), query, values);
+    }
+
+    /**
+     * Runs a query and maps the resulting rows with the given mapper.
+     *
+     * @param mapper the row mapper
+     * @param query the SQL query to be executed
+     * @param values the values of the query parameters
+     * @param <R> the type of the rows
+     * @return the rows returned by the query
+     */
+    private <R> List<R> query(RowMapper<R> mapper, String query, Object... values) {
+        List<R> rows = new ArrayList<>();
+        SqlCall call = SqlCall.start(queryMetrics, query);
         try (Connection connection = ConnectionFactory.getConnection();
-             PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + tableName);
-             ResultSet resultSet = statement.executeQuery()) {
-            while (resultSet.next()) {
-                entities.add(createObject(resultSet));
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
             }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int[] columns = mapper.resolveColumns(resultSet.getMetaData());
+                while (resultSet.next()) {
+                    rows.add(mapper.map(resultSet, columns));
+                }
+            }
+            call.succeeded(rows.size());
         } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, "Error fetching all records from " + tableName, e);
+            call.failed();
+            LOGGER.log(Level.WARNING, "Error fetching records from " + tableName, e);
         }
-        return entities;
+        return rows;
     }
 
     /**
      * Retrieves a record by its id.
+     * The id is matched against the id column of this DAO's entity, for example order_id for the orders table.
      *
      * @param id the id of the record
      * @param tableName the name of the table
      * @return the record with the given id
      */
     public T findById(int id, String tableName) {
+        String query = "SELECT * FROM " + tableName + " WHERE " + idColumn + " = ?";
+        SqlCall call = SqlCall.start(findByIdMetrics, query);
         try (Connection connection = ConnectionFactory.getConnection();
-             PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + tableName + " WHERE id = ?")
+             PreparedStatement statement = connection.prepareStatement(query)
         ) {
             statement.setInt(1, id);
             try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    return createObject(resultSet);
-                }
+                T found = resultSet.next() ? createObject(resultSet, rowMapper.resolveColumns(resultSet.getMetaData())) : null;
+                call.succeeded(found == null ? 0 : 1);
+                return found;
             }
         } catch (SQLException e) {
+            call.failed();
             LOGGER.log(Level.WARNING, "Error finding record by id in " + tableName, e);
         }
         return null;
     }
 
     /**
-     * Deletes a record by its id.
+     * Deletes a record by its id, matched against the id column of this DAO's entity,
+     * in one transaction together with its change log entry.
      *
      * @param id the id of the record
      * @param tableName the name of the table
+     * @return true if the statement ran without error
      */
-    public void delete(int id, String tableName) {
-        try (Connection connection = ConnectionFactory.getConnection();
-             PreparedStatement statement = connection.prepareStatement("DELETE FROM " + tableName + " WHERE "+tableName+"_id = ?")) {
-            statement.setInt(1, id);
-            statement.executeUpdate();
+    public boolean delete(int id, String tableName) {
+        String query = "DELETE FROM " + tableName + " WHERE " + idColumn + " = ?";
+        return inTransaction("delete", deleteMetrics, query, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                statement.setInt(1, id);
+                int deleted = statement.executeUpdate();
+                if (deleted > 0) {
+                    recordChange(connection, ChangeEvent.Kind.DELETED, id);
+                }
+                return deleted;
+            }
+        }) >= 0;
+    }
+
+    /**
+     * Retrieves the records with the given ids, ordered by id.
+     * The ids are sent in IN lists of at most the batch size, so a large selection needs few round trips.
+     *
+     * @param ids the ids of the records
+     * @return the records that exist
+     */
+    public List<T> findByIds(int[] ids) {
+        List<T> found = new ArrayList<>(ids.length);
+        SqlCall call = SqlCall.start(findByIdsMetrics, "SELECT * FROM " + tableName + " WHERE " + idColumn + " IN (...)");
+        try (Connection connection = ConnectionFactory.getConnection()) {
+            found.addAll(selectByIds(connection, ids, ""));
+            call.succeeded(found.size());
+        } catch (SQLException e) {
+            call.failed();
+            LOGGER.log(Level.WARNING, type.getSimpleName() + "DAO:findByIds " + e.getMessage());
+        }
+        return found;
+    }
+
+    /**
+     * Reads the records with the given ids and locks their rows until the end of the caller's transaction.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param ids the ids of the records
+     * @return the records as stored in the database, ordered by id
+     * @throws SQLException if a database access error occurs
+     */
+    protected List<T> lockByIds(Connection connection, int[] ids) throws SQLException {
+        return selectByIds(connection, ids, " FOR UPDATE");
+    }
+
+    /**
+     * Deletes the records with the given ids in one transaction: either all of them are deleted or none.
+     *
+     * @param ids the ids of the records
+     * @return the number of records deleted, or -1 if the transaction was rolled back
+     */
+    public int deleteByIds(int[] ids) {
+        if (ids.length == 0) {
+            return 0;
+        }
+        return inTransaction("deleteByIds", deleteByIdsMetrics, "DELETE FROM " + tableName + " WHERE " + idColumn + " IN (...)",
+                connection -> deleteByIds(connection, ids));
+    }
+
+    /**
+     * Deletes the records with the given ids in one transaction and returns the records that were deleted.
+     * The rows are locked and read before the delete, so ids that no longer exist are left out of the result.
+     *
+     * @param ids the ids of the records
+     * @return the deleted records as they were stored, or null if the transaction was rolled back
+     */
+    public List<T> deleteExistingByIds(int[] ids) {
+        List<T> deleted = new ArrayList<>();
+        if (ids.length == 0) {
+            return deleted;
+        }
+        int changed = inTransaction("deleteByIds", deleteByIdsMetrics, "DELETE FROM " + tableName + " WHERE " + idColumn + " IN (...)",
+                connection -> {
+                    deleted.addAll(lockByIds(connection, ids));
+                    return deleteByIds(connection, ids);
+                });
+        return changed < 0 ? null : deleted;
+    }
+
+    /**
+     * Deletes the records with the given ids as part of the caller's transaction,
+     * with one statement per IN list of at most the batch size, and records their change log entries.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param ids the ids of the records
+     * @return the number of records deleted
+     * @throws SQLException if a database access error occurs
+     */
+    protected int deleteByIds(Connection connection, int[] ids) throws SQLException {
+        int deleted = writeByIds(connection, "DELETE FROM " + tableName + " WHERE " + idColumn + " IN ", new Object[0], ids);
+        recordChange(connection, ChangeEvent.Kind.DELETED, ids);
+        return deleted;
+    }
+
+    /**
+     * Sets the same values on the records with the given ids in one transaction: either all of them are updated or none.
+     *
+     * @param ids the ids of the records
+     * @param values the new value of each changed column, by column name; the columns must be columns of the table
+     * @return the number of records updated, or -1 if the transaction was rolled back
+     */
+    public int updateByIds(int[] ids, Map<String, Object> values) {
+        if (ids.length == 0) {
+            return 0;
+        }
+        return inTransaction("updateByIds", updateByIdsMetrics, "UPDATE " + tableName + " SET " + String.join(", ", values.keySet())
+                + " WHERE " + idColumn + " IN (...)", connection -> updateByIds(connection, ids, values));
+    }
+
+    /**
+     * Sets the same values on the records with the given ids as part of the caller's transaction,
+     * with one statement per IN list of at most the batch size, and records their change log entries.
+     * The version of versioned records is incremented.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param ids the ids of the records
+     * @param values the new value of each changed column, by column name; the columns must be columns of the table
+     * @return the number of records updated
+     * @throws SQLException if a database access error occurs
+     */
+    protected int updateByIds(Connection connection, int[] ids, Map<String, Object> values) throws SQLException {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("No column to update in " + tableName);
+        }
+        StringBuilder query = new StringBuilder("UPDATE ").append(tableName).append(" SET ");
+        for (String column : values.keySet()) {
+            if (!rowMapper.hasColumn(column) || column.equalsIgnoreCase(idColumn) || column.equalsIgnoreCase(VERSION_COLUMN)) {
+                throw new IllegalArgumentException("Unknown column " + column + " for " + tableName);
+            }
+            query.append(column).append(" = ?, ");
+        }
+        if (rowMapper.hasColumn(VERSION_COLUMN)) {
+            query.append(VERSION_COLUMN).append(" = ").append(VERSION_COLUMN).append(" + 1, ");
+        }
+        query.setLength(query.length() - 2);
+        query.append(" WHERE ").append(idColumn).append(" IN ");
+        int updated = writeByIds(connection, query.toString(), values.values().toArray(), ids);
+        recordChange(connection, ChangeEvent.Kind.UPDATED, ids);
+        return updated;
+    }
+
+    /**
+     * Runs a statement ending with an IN list of ids, once per chunk of at most the batch size.
+     *
+     * @param connection the connection to use
+     * @param prefix the statement up to the IN list
+     * @param values the values of the parameters before the IN list
+     * @param ids the ids of the records
+     * @return the total number of rows changed
+     * @throws SQLException if a database access error occurs
+     */
+    private int writeByIds(Connection connection, String prefix, Object[] values, int[] ids) throws SQLException {
+        int changed = 0;
+        for (int from = 0; from < ids.length; from += batchSize) {
+            int to = Math.min(from + batchSize, ids.length);
+            try (PreparedStatement statement = connection.prepareStatement(prefix + placeholders(to - from))) {
+                bind(statement, values);
+                for (int i = from; i < to; i++) {
+                    statement.setInt(values.length + i - from + 1, ids[i]);
+                }
+                changed += statement.executeUpdate();
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Selects the records with the given ids, once per chunk of at most the batch size.
+     *
+     * @param connection the connection to use
+     * @param ids the ids of the records
+     * @param suffix the clause appended to every query, such as a locking clause
+     * @return the records, ordered by id
+     * @throws SQLException if a database access error occurs
+     */
+    private List<T> selectByIds(Connection connection, int[] ids, String suffix) throws SQLException {
+        List<T> found = new ArrayList<>(ids.length);
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        for (int from = 0; from < sorted.length; from += batchSize) {
+            int to = Math.min(from + batchSize, sorted.length);
+            String query = "SELECT * FROM " + tableName + " WHERE " + idColumn + " IN " + placeholders(to - from)
+                    + " ORDER BY " + idColumn + suffix;
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                for (int i = from; i < to; i++) {
+                    statement.setInt(i - from + 1, sorted[i]);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    int[] columns = rowMapper.resolveColumns(resultSet.getMetaData());
+                    while (resultSet.next()) {
+                        found.add(createObject(resultSet, columns));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Builds a parenthesized list of parameter markers.
+     *
+     * @param count the number of markers
+     * @return the list, for example "(?, ?, ?)"
+     */
+    private static String placeholders(int count) {
+        StringBuilder markers = new StringBuilder(count * 3 + 1).append('(');
+        for (int i = 0; i < count; i++) {
+            markers.append(i == 0 ? "?" : ", ?");
+        }
+        return markers.append(')').toString();
+    }
+
+    /**
+     * Records changes of records of this DAO's entity in the change log as part of the caller's transaction.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param kind the kind of change
+     * @param ids the ids of the changed records; none for an {@link ChangeEvent.Kind#INVALIDATED} change
+     * @throws SQLException if a database access error occurs
+     */
+    protected void recordChange(Connection connection, ChangeEvent.Kind kind, int... ids) throws SQLException {
+        if (ids.length > 0 || kind == ChangeEvent.Kind.INVALIDATED) {
+            ChangeFeed.record(connection, type, kind, ids);
+        }
+    }
+
+    /**
+     * Runs a write in its own transaction, rolling it back if it fails, and records it in the metrics.
+     *
+     * @param operation the name of the operation, for the log
+     * @param metrics the metrics of the operation
+     * @param sql the statement of the operation, for the metrics
+     * @param write the write to run
+     * @return the number of rows changed, or -1 if the transaction was rolled back
+     */
+    private int inTransaction(String operation, OperationMetrics metrics, String sql, TransactionWrite write) {
+        SqlCall call = SqlCall.start(metrics, sql);
+        try (Connection connection = ConnectionFactory.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int changed = write.write(connection);
+                connection.commit();
+                call.succeeded(changed);
+                return changed;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
         } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, "Error deleting record from " + tableName, e);
+            call.failed();
+            LOGGER.log(Level.WARNING, type.getSimpleName() + "DAO:" + operation + " " + e.getMessage());
+            return -1;
         }
     }
 
     /**
-     * Creates an object from a ResultSet.
+     * Creates an object from the current row of a ResultSet using the shared row mapper of the entity type.
      *
      * @param resultSet the ResultSet
+     * @param columns the column indexes resolved by the row mapper for this ResultSet
      * @return the created object
      * @throws SQLException if a database access error occurs
      */
-    private T createObject(ResultSet resultSet) throws SQLException {
+    protected T createObject(ResultSet resultSet, int[] columns) throws SQLException {
         try {
-            Constructor<T> constructor = type.getDeclaredConstructor();
-            constructor.setAccessible(true);
-            T instance = constructor.newInstance();
-            for (Field field : type.getDeclaredFields()) {
-                String fieldName = field.getName();
-                Object value = resultSet.getObject(fieldName);
-                if (value != null) {
-                    PropertyDescriptor propertyDescriptor = new PropertyDescriptor(fieldName, type);
-                    Method setter = propertyDescriptor.getWriteMethod();
-                    setter.invoke(instance, value);
-                }
-            }
-            return instance;
-        } catch (NoSuchMethodException | IllegalAccessException | InstantiationException | InvocationTargetException | IllegalArgumentException | SecurityException | SQLException e) {
+            return rowMapper.map(resultSet, columns);
+        } catch (SQLException e) {
             LOGGER.log(Level.WARNING, "Error creating object from ResultSet for " + tableName, e);
-            throw new SQLException("Error creating object from ResultSet for " + tableName, e);
-        } catch (IntrospectionException e) {
-            throw new RuntimeException(e);
+            throw e;
         }
     }
 
     /**
-     * Updates a record in the database.
+     * Updates a record only if its version is still the one it was read with, without locking it,
+     * in one transaction together with its change log entry.
+     * The query must increment the version and end with {@code WHERE <id column> = ? AND version = ?},
+     * the id and the expected version being the last two values. When no row matches, the record is read again
+     * to tell a concurrent change from a deleted record.
      *
      * @param t the object to be updated
+     * @param id the id of the record
      * @param query the SQL query to be executed
-     * @param values the new values
+     * @param values the new values, followed by the id and the expected version
+     * @return UPDATED with the object, CONFLICT with the record as stored now, NOT_FOUND or FAILED
      */
-    public void update(T t, String query, Object... values) {
-        Connection connection = null;
-        PreparedStatement statement = null;
-
-        try {
-            connection = ConnectionFactory.getConnection();
-            statement = connection.prepareStatement(query);
+    protected UpdateResult<T> compareAndSet(T t, int id, String query, Object... values) {
+        int rows = inTransaction("compareAndSet", updateMetrics, query, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                bind(statement, values);
+                int updated = statement.executeUpdate();
+                if (updated > 0) {
+                    recordChange(connection, ChangeEvent.Kind.UPDATED, id);
+                }
+                return updated;
+            }
+        });
+        if (rows < 0) {
+            return UpdateResult.failed();
+        }
+        if (rows > 0) {
+            return UpdateResult.updated(t);
+        }
+        T current = findById(id, tableName);
+        return current == null ? UpdateResult.notFound() : UpdateResult.conflict(current, List.of());
+    }
 
-            for (int i = 0; i < values.length; i++) {
-                statement.setObject(i + 1, values[i]);
+    /**
+     * Runs a versioned update and, if the record was changed in the meantime, merges the edit into the record
+     * as stored now and tries again, up to {@value #MAX_MERGE_ATTEMPTS} times.
+     * The merge fails with a conflict listing the columns that both sides changed to different values.
+     *
+     * @param original the record as it was read before the edit
+     * @param edited the edited record, with the version it was read with
+     * @param write the versioned update of one record
+     * @param merger merges an edit into the stored record
+     * @return the result of the last attempt, MERGED if a merged record was written
+     */
+    protected UpdateResult<T> updateMerging(T original, T edited, Function<T, UpdateResult<T>> write, Merger<T> merger) {
+        UpdateResult<T> result = write.apply(edited);
+        for (int attempt = 0; attempt < MAX_MERGE_ATTEMPTS && result.getStatus() == UpdateResult.Status.CONFLICT; attempt++) {
+            T current = result.getEntity();
+            FieldMerge fields = new FieldMerge();
+            T merged = merger.merge(original, edited, current, fields);
+            if (!fields.getConflicts().isEmpty()) {
+                return UpdateResult.conflict(current, fields.getConflicts());
             }
+            original = current;
+            edited = merged;
+            result = write.apply(merged);
+            if (result.isSuccessful()) {
+                result = UpdateResult.merged(result.getEntity());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sets how many rows the batch operations send and commit together.
+     *
+     * @param batchSize the chunk size, at least 1
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
 
-            statement.executeUpdate();
+    /**
+     * Gets how many rows the batch operations send and commit together.
+     *
+     * @return the chunk size
+     */
+    protected int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Executes one statement for every entity using JDBC batching.
+     * The entities are sent in chunks of the configured batch size, each chunk in its own transaction,
+     * so the driver can rewrite a chunk into a single multi-row statement.
+     * If a chunk fails it is rolled back and replayed row by row, so that only the failing rows are reported
+     * and the other rows of the chunk are still written.
+     * A statement that changes no row, such as an update of a record that no longer exists, is reported as a failure.
+     * No change log entry is written; see {@link #executeBatch(String, List, Function, BatchLog)}.
+     *
+     * @param query the SQL statement to be executed for every entity
+     * @param entities the entities to be written
+     * @param parameters extracts the statement parameters of an entity
+     * @return the outcome of the batch
+     */
+    protected BatchResult<T> executeBatch(String query, List<T> entities, Function<T, Object[]> parameters) {
+        return executeBatch(query, entities, parameters, (connection, written) -> { });
+    }
+
+    /**
+     * Executes one statement for every entity using JDBC batching, as {@link #executeBatch(String, List, Function)} does,
+     * and records the change log entries of the rows each chunk wrote in the transaction of the chunk.
+     *
+     * @param query the SQL statement to be executed for every entity
+     * @param entities the entities to be written
+     * @param parameters extracts the statement parameters of an entity
+     * @param log records the changes of the entities a chunk wrote
+     * @return the outcome of the batch
+     */
+    protected BatchResult<T> executeBatch(String query, List<T> entities, Function<T, Object[]> parameters, BatchLog<T> log) {
+        BatchResult<T> result = new BatchResult<>();
+        if (entities.isEmpty()) {
+            return result;
+        }
+        SqlCall call = SqlCall.start(batchMetrics, query);
+        int from = 0;
+        try (Connection connection = ConnectionFactory.getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            connection.setAutoCommit(false);
+            for (; from < entities.size(); from += batchSize) {
+                int to = Math.min(from + batchSize, entities.size());
+                try {
+                    for (int i = from; i < to; i++) {
+                        bind(statement, parameters.apply(entities.get(i)));
+                        statement.addBatch();
+                    }
+                    int[] counts = statement.executeBatch();
+                    recordWritten(connection, log, entities, from, counts);
+                    connection.commit();
+                    for (int i = from; i < to; i++) {
+                        recordCount(result, i, entities.get(i), counts[i - from]);
+                    }
+                } catch (SQLException e) {
+                    statement.clearBatch();
+                    connection.rollback();
+                    replayChunk(connection, statement, entities, from, to, parameters, log, result);
+                }
+            }
         } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, type.getSimpleName() + "DAO:update " + e.getMessage());
-        } finally {
-            ConnectionFactory.close(statement);
-            ConnectionFactory.close(connection);
+            LOGGER.log(Level.WARNING, type.getSimpleName() + "DAO:executeBatch " + e.getMessage());
+            failUnrecorded(result, entities, from, String.valueOf(e.getMessage()));
+        }
+        if (result.getFailures().isEmpty()) {
+            call.succeeded(result.getSucceeded());
+        } else {
+            call.failed();
+        }
+        return result;
+    }
+
+    /**
+     * Writes the rows of a failed chunk one at a time, recording which of them fail.
+     * If the chunk cannot be committed, none of its rows is recorded as written.
+     *
+     * @param connection the connection of the batch, with auto-commit disabled
+     * @param statement the prepared statement of the batch
+     * @param entities all entities of the batch
+     * @param from the index of the first row of the chunk
+     * @param to the index after the last row of the chunk
+     * @param parameters extracts the statement parameters of an entity
+     * @param log records the changes of the entities the chunk wrote
+     * @param result the result to record the outcome in
+     * @throws SQLException if the chunk cannot be committed
+     */
+    private void replayChunk(Connection connection, PreparedStatement statement, List<T> entities, int from, int to,
+                             Function<T, Object[]> parameters, BatchLog<T> log, BatchResult<T> result) throws SQLException {
+        int[] counts = new int[to - from];
+        for (int i = from; i < to; i++) {
+            try {
+                bind(statement, parameters.apply(entities.get(i)));
+                counts[i - from] = statement.executeUpdate();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, type.getSimpleName() + "DAO:executeBatch row " + i + " " + e.getMessage());
+                counts[i - from] = Statement.EXECUTE_FAILED;
+                result.addFailure(i, entities.get(i), e.getMessage());
+            }
+        }
+        recordWritten(connection, log, entities, from, counts);
+        connection.commit();
+        for (int i = from; i < to; i++) {
+            if (counts[i - from] != Statement.EXECUTE_FAILED) {
+                recordCount(result, i, entities.get(i), counts[i - from]);
+            }
+        }
+    }
+
+    /**
+     * Passes the entities of a chunk whose statement changed a row to the change log of the batch.
+     *
+     * @param connection the connection of the chunk's transaction
+     * @param log records the changes of the entities written
+     * @param entities all entities of the batch
+     * @param from the index of the first row of the chunk
+     * @param counts the update counts of the rows of the chunk
+     * @throws SQLException if the entries cannot be written
+     */
+    private void recordWritten(Connection connection, BatchLog<T> log, List<T> entities, int from, int[] counts) throws SQLException {
+        List<T> written = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0 && counts[i] != Statement.EXECUTE_FAILED) {
+                written.add(entities.get(from + i));
+            }
+        }
+        if (!written.isEmpty()) {
+            log.record(connection, written);
         }
     }
 
+    /**
+     * Records the outcome of one committed row of a batch from the update count of its statement.
+     * A count of 0 means the statement matched no row and is recorded as a failure;
+     * {@link Statement#SUCCESS_NO_INFO}, reported by drivers that rewrite a batch into one statement, counts as written.
+     *
+     * @param result the result to record the outcome in
+     * @param index the index of the row in the batch
+     * @param entity the entity of the row
+     * @param count the update count of the row's statement
+     */
+    static <E> void recordCount(BatchResult<E> result, int index, E entity, int count) {
+        if (count == 0) {
+            result.addFailure(index, entity, "no row matched");
+        } else {
+            result.addSucceeded(1);
+        }
+    }
+
+    /**
+     * Records as failed every row, from a given index on, whose outcome was not recorded yet.
+     * Used when the connection of a batch fails, so every row the failure interrupted is reported,
+     * whichever rows of the interrupted chunk were already reported as failed.
+     *
+     * @param result the result to record the failures in
+     * @param entities all entities of the batch
+     * @param from the index of the first row that may not be recorded yet
+     * @param message the error message
+     */
+    static <E> void failUnrecorded(BatchResult<E> result, List<E> entities, int from, String message) {
+        boolean[] recorded = new boolean[entities.size()];
+        result.getFailures().forEach(failure -> recorded[failure.getIndex()] = true);
+        for (int i = from; i < entities.size(); i++) {
+            if (!recorded[i]) {
+                result.addFailure(i, entities.get(i), message);
+            }
+        }
+    }
+
+    /**
+     * The Merger interface merges an edit into a record that was changed by someone else.
+     * The merged record takes the version of the stored one.
+     *
+     * @param <T> the type of the record
+     */
+    @FunctionalInterface
+    interface Merger<T> {
+        T merge(T base, T mine, T theirs, FieldMerge fields);
+    }
+
+    /**
+     * The BatchLog interface records, in the transaction of a chunk, the changes of the entities the chunk wrote.
+     *
+     * @param <T> the type of the entities
+     */
+    @FunctionalInterface
+    interface BatchLog<T> {
+        void record(Connection connection, List<T> written) throws SQLException;
+    }
+
+    /**
+     * The TransactionWrite interface is a write run inside a transaction that reports how many rows it changed.
+     */
+    @FunctionalInterface
+    private interface TransactionWrite {
+        int write(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Sets the parameters of a prepared statement.
+     *
+     * @param statement the statement
+     * @param values the parameter values, in order
+     * @throws SQLException if a parameter cannot be set
+     */
+    private static void bind(PreparedStatement statement, Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            statement.setObject(i + 1, values[i]);
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package dataAcessLayer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The ActionContext class names the user action, such as a button click, on whose behalf the current thread works.
+ * {@link AsyncDAO} carries the action of the submitting thread over to the background operation,
+ * so every statement the action triggers can be traced back to it.
+ */
+public final class ActionContext {
+
+    private static final ThreadLocal<ActionContext> CURRENT = new ThreadLocal<>();
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private final long id;
+    private final String name;
+
+    private ActionContext(long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Creates a new action with a unique id.
+     *
+     * @param name the name of the action, for example the name of the handler
+     * @return the action
+     */
+    public static ActionContext create(String name) {
+        return new ActionContext(IDS.incrementAndGet(), name);
+    }
+
+    /**
+     * Gets the action of the current thread.
+     *
+     * @return the action, or null if the thread works for no action
+     */
+    public static ActionContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs work on the current thread on behalf of this action, restoring the previous action afterwards.
+     *
+     * @param work the work
+     * @param <R> the type of the result
+     * @return the result of the work
+     */
+    public <R> R call(Supplier<R> work) {
+        ActionContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Gets the unique id of the action.
+     *
+     * @return the id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the name of the action.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name + "#" + id;
+    }
+}
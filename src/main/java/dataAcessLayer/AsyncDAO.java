@@ -0,0 +1,61 @@
+package dataAcessLayer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * The AsyncDAO class runs DAO operations off the caller's thread.
+ * Each operation runs on its own virtual thread and completes a CompletableFuture,
+ * so callers such as the JavaFX controllers never wait for the database.
+ * At most {@link #MAX_CONCURRENT_OPERATIONS} operations touch the database at the same time;
+ * the others wait on their virtual thread, which costs no platform thread.
+ * An operation runs on behalf of the {@link ActionContext} of the thread that submitted it.
+ */
+public final class AsyncDAO {
+
+    /**
+     * The maximum number of DAO operations running at the same time.
+     */
+    public static final int MAX_CONCURRENT_OPERATIONS = 8;
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Semaphore PERMITS = new Semaphore(MAX_CONCURRENT_OPERATIONS, true);
+
+    private AsyncDAO() {
+    }
+
+    /**
+     * Runs a DAO operation that returns a value, for example {@code () -> clientDAO.getAllClients()}.
+     *
+     * @param operation the operation to run
+     * @param <R> the type of the result
+     * @return a future completed with the result of the operation, or exceptionally if it throws
+     */
+    public static <R> CompletableFuture<R> supply(Supplier<R> operation) {
+        ActionContext action = ActionContext.current();
+        return CompletableFuture.supplyAsync(() -> {
+            PERMITS.acquireUninterruptibly();
+            try {
+                return action == null ? operation.get() : action.call(operation);
+            } finally {
+                PERMITS.release();
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Runs a DAO operation that returns nothing, for example {@code () -> clientDAO.delete(client)}.
+     *
+     * @param operation the operation to run
+     * @return a future completed when the operation ends, or exceptionally if it throws
+     */
+    public static CompletableFuture<Void> run(Runnable operation) {
+        return supply(() -> {
+            operation.run();
+            return null;
+        });
+    }
+}
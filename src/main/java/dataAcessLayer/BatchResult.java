@@ -0,0 +1,101 @@
+package dataAcessLayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The BatchResult class reports the outcome of a batched insert or update.
+ * It holds the number of rows written and, for every row that could not be written, the reason why.
+ *
+ * @param <T> the type of the entities in the batch
+ */
+public class BatchResult<T> {
+
+    private int succeeded;
+    private final List<Failure<T>> failures = new ArrayList<>();
+
+    /**
+     * Gets the number of rows that were written.
+     *
+     * @return the number of successful rows
+     */
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * Gets the rows that could not be written.
+     *
+     * @return the failed rows, in batch order
+     */
+    public List<Failure<T>> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * Checks whether every row of the batch was written.
+     *
+     * @return true if no row failed
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    void addSucceeded(int count) {
+        succeeded += count;
+    }
+
+    void addFailure(int index, T entity, String message) {
+        failures.add(new Failure<>(index, entity, message));
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{succeeded=" + succeeded + ", failed=" + failures.size() + '}';
+    }
+
+    /**
+     * The Failure class describes one row of a batch that could not be written.
+     *
+     * @param <T> the type of the entity
+     */
+    public static class Failure<T> {
+        private final int index;
+        private final T entity;
+        private final String message;
+
+        Failure(int index, T entity, String message) {
+            this.index = index;
+            this.entity = entity;
+            this.message = message;
+        }
+
+        /**
+         * Gets the position of the row in the list passed to the batch operation.
+         *
+         * @return the index of the row
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Gets the entity that could not be written.
+         *
+         * @return the entity
+         */
+        public T getEntity() {
+            return entity;
+        }
+
+        /**
+         * Gets the database error reported for the row.
+         *
+         * @return the error message
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dataAcessLayer;
+
+import java.util.List;
+
+/**
+ * The BatchWriter interface is implemented by the DAOs that can insert and update many records at once.
+ * A row that cannot be written, or an update that matches no row, is reported as a failure of the batch
+ * and does not stop the other rows from being written.
+ *
+ * @param <T> the type of the records
+ */
+public interface BatchWriter<T> {
+
+    /**
+     * Inserts many records at once.
+     *
+     * @param entities the objects to be inserted
+     * @return the outcome of the batch
+     */
+    BatchResult<T> insertAll(List<T> entities);
+
+    /**
+     * Updates many records at once.
+     *
+     * @param entities the objects to be updated
+     * @return the outcome of the batch
+     */
+    BatchResult<T> updateAll(List<T> entities);
+}
@@ -0,0 +1,83 @@
+package dataAcessLayer;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The ChangeBus class delivers the {@link ChangeEvent}s published by the DAOs to the parts of the application
+ * that hold copies of the data, such as open table views.
+ * Events are delivered synchronously on the publishing thread, after the change is committed, so listeners
+ * must return quickly and move any slow work elsewhere.
+ * Listeners are held weakly: a listener stops receiving events once its owner is no longer referenced,
+ * so the owner must keep a reference to the listener for as long as it wants events.
+ */
+public final class ChangeBus {
+
+    private static final Logger LOGGER = Logger.getLogger(ChangeBus.class.getName());
+    private static final Map<Class<?>, List<WeakReference<Consumer<?>>>> LISTENERS = new ConcurrentHashMap<>();
+
+    private ChangeBus() {
+    }
+
+    /**
+     * Registers a listener for the changes to one entity type.
+     *
+     * @param entityType the class of the entities
+     * @param listener receives the events; held weakly
+     * @param <T> the type of the entities
+     */
+    public static <T> void subscribe(Class<T> entityType, Consumer<ChangeEvent<T>> listener) {
+        LISTENERS.computeIfAbsent(entityType, type -> new CopyOnWriteArrayList<>()).add(new WeakReference<>(listener));
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param entityType the class of the entities
+     * @param listener the listener to remove
+     * @param <T> the type of the entities
+     */
+    public static <T> void unsubscribe(Class<T> entityType, Consumer<ChangeEvent<T>> listener) {
+        List<WeakReference<Consumer<?>>> listeners = LISTENERS.get(entityType);
+        if (listeners != null) {
+            listeners.removeIf(reference -> reference.get() == null || reference.get() == listener);
+        }
+    }
+
+    /**
+     * Delivers an event to every listener of its entity type.
+     * A failing listener is logged and does not stop the delivery to the others.
+     *
+     * @param event the event
+     * @param <T> the type of the entity
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void publish(ChangeEvent<T> event) {
+        List<WeakReference<Consumer<?>>> listeners = LISTENERS.get(event.getEntityType());
+        if (listeners == null) {
+            return;
+        }
+        boolean collected = false;
+        for (WeakReference<Consumer<?>> reference : listeners) {
+            Consumer<ChangeEvent<T>> listener = (Consumer<ChangeEvent<T>>) reference.get();
+            if (listener == null) {
+                collected = true;
+                continue;
+            }
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "ChangeBus: listener failed on " + event, e);
+            }
+        }
+        if (collected) {
+            listeners.removeIf(reference -> reference.get() == null);
+        }
+    }
+}
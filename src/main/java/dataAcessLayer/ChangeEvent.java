@@ -0,0 +1,158 @@
+package dataAcessLayer;
+
+/**
+ * The ChangeEvent class describes one change written by a DAO: an entity that was inserted, updated or deleted.
+ * Updates may come without the entity when only its id is known, for example after a relative stock change;
+ * listeners then read the entity again if they need it.
+ * Events replayed from the change log of another application instance are marked as remote.
+ *
+ * @param <T> the type of the changed entity
+ */
+public final class ChangeEvent<T> {
+
+    /**
+     * The Kind enum lists the kinds of change.
+     */
+    public enum Kind {
+        /**
+         * A new entity was written.
+         */
+        INSERTED,
+        /**
+         * An existing entity was changed.
+         */
+        UPDATED,
+        /**
+         * An entity was removed.
+         */
+        DELETED,
+        /**
+         * Many entities changed and their ids are not known, for example after a bulk insert;
+         * listeners should reload everything they hold of this type.
+         */
+        INVALIDATED
+    }
+
+    private final Class<T> entityType;
+    private final Kind kind;
+    private final int id;
+    private final T entity;
+    private final boolean remote;
+
+    private ChangeEvent(Class<T> entityType, Kind kind, int id, T entity, boolean remote) {
+        this.entityType = entityType;
+        this.kind = kind;
+        this.id = id;
+        this.entity = entity;
+        this.remote = remote;
+    }
+
+    /**
+     * Creates the event of an inserted entity.
+     *
+     * @param entityType the class of the entity
+     * @param id the id of the entity
+     * @param entity the entity as written
+     * @param <T> the type of the entity
+     * @return the event
+     */
+    public static <T> ChangeEvent<T> inserted(Class<T> entityType, int id, T entity) {
+        return new ChangeEvent<>(entityType, Kind.INSERTED, id, entity, false);
+    }
+
+    /**
+     * Creates the event of an updated entity.
+     *
+     * @param entityType the class of the entity
+     * @param id the id of the entity
+     * @param entity the entity as written, or null if only the id is known
+     * @param <T> the type of the entity
+     * @return the event
+     */
+    public static <T> ChangeEvent<T> updated(Class<T> entityType, int id, T entity) {
+        return new ChangeEvent<>(entityType, Kind.UPDATED, id, entity, false);
+    }
+
+    /**
+     * Creates the event of a deleted entity.
+     *
+     * @param entityType the class of the entity
+     * @param id the id of the entity
+     * @param <T> the type of the entity
+     * @return the event
+     */
+    public static <T> ChangeEvent<T> deleted(Class<T> entityType, int id) {
+        return new ChangeEvent<>(entityType, Kind.DELETED, id, null, false);
+    }
+
+    /**
+     * Creates the event of a change to many entities whose ids are not known.
+     *
+     * @param entityType the class of the entities
+     * @param <T> the type of the entities
+     * @return the event
+     */
+    public static <T> ChangeEvent<T> invalidated(Class<T> entityType) {
+        return new ChangeEvent<>(entityType, Kind.INVALIDATED, 0, null, false);
+    }
+
+    /**
+     * Creates the same change as written by another application instance.
+     *
+     * @param entity the entity as read again from the database, or null if it was not read
+     * @return the remote event
+     */
+    public ChangeEvent<T> asRemote(T entity) {
+        return new ChangeEvent<>(entityType, kind, id, entity, true);
+    }
+
+    /**
+     * Gets the class of the changed entity.
+     *
+     * @return the entity class
+     */
+    public Class<T> getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return the kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the id of the changed entity.
+     *
+     * @return the id, or 0 for an {@link Kind#INVALIDATED} event
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the entity as written.
+     *
+     * @return the entity, or null for deletes and for updates where only the id is known
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    /**
+     * Tells whether the change was written by another application instance.
+     *
+     * @return true for a change replayed from the change log
+     */
+    public boolean isRemote() {
+        return remote;
+    }
+
+    @Override
+    public String toString() {
+        return (remote ? "remote " : "") + kind + " " + entityType.getSimpleName() + " " + id;
+    }
+}
@@ -0,0 +1,228 @@
+package dataAcessLayer;
+
+import model.ChangeLog;
+import model.Client;
+import model.Orders;
+import model.Product;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The ChangeFeed class keeps several application instances running against the same database in step.
+ * Every write of a DAO records its change in the change log with its own connection, in the same transaction,
+ * so an entry exists exactly when the write was committed. A background thread polls the log for the entries
+ * written by the other instances.
+ * A remote change invalidates the cached entity, updates the search index and is published on the {@link ChangeBus}
+ * as a remote event, so open views apply it in place instead of reloading.
+ * Sequence numbers are assigned when an entry is inserted, so an entry with a lower number can become visible
+ * after one with a higher number; a gap in the numbers is therefore polled again for a short while before it is skipped.
+ */
+public final class ChangeFeed {
+
+    private static final Logger LOGGER = Logger.getLogger(ChangeFeed.class.getName());
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+    private static final long POLL_INTERVAL_MS = 500;
+    private static final long GAP_TIMEOUT_MS = 5_000;
+    private static final int POLL_LIMIT = 500;
+    private static final int RETENTION_HOURS = 24;
+
+    private static final ChangeLogDAO changeLogDAO = new ChangeLogDAO();
+    private static final TreeSet<Long> seenAboveWatermark = new TreeSet<>();
+    private static volatile boolean recording;
+    private static ScheduledExecutorService scheduler;
+    private static long watermark;
+    private static long gapSince;
+
+    private ChangeFeed() {
+    }
+
+    /**
+     * Starts recording the changes of this instance and applying the changes of the others.
+     * Only the changes written from now on are applied, the data already loaded being current.
+     * Entries older than the retention period are deleted.
+     * If the newest sequence number cannot be read, the feed is not started, since polling from 0
+     * would replay the whole log as remote changes.
+     */
+    public static synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        changeLogDAO.deleteOlderThan(RETENTION_HOURS);
+        long lastSeq = changeLogDAO.lastSeq();
+        if (lastSeq < 0) {
+            LOGGER.log(Level.WARNING, "ChangeFeed:start cannot read the change log, changes are not shared");
+            return;
+        }
+        watermark = lastSeq;
+        recording = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(ChangeFeed::poll, POLL_INTERVAL_MS, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops recording and polling.
+     */
+    public static synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        recording = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+
+    /**
+     * Records changes of this instance in the change log as part of the caller's transaction,
+     * so the entries are committed or rolled back together with the write.
+     * Nothing is recorded while the feed is stopped.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param entityType the class of the changed entities
+     * @param kind the kind of change
+     * @param ids the ids of the changed entities; none for an {@link ChangeEvent.Kind#INVALIDATED} change
+     * @throws SQLException if a database access error occurs
+     */
+    static void record(Connection connection, Class<?> entityType, ChangeEvent.Kind kind, int... ids) throws SQLException {
+        if (!recording) {
+            return;
+        }
+        String entity = entityType.getSimpleName().toLowerCase();
+        List<ChangeLog> entries = new ArrayList<>(Math.max(1, ids.length));
+        if (kind == ChangeEvent.Kind.INVALIDATED) {
+            entries.add(new ChangeLog(entity, 0, kind.name(), INSTANCE_ID));
+        }
+        for (int id : ids) {
+            entries.add(new ChangeLog(entity, id, kind.name(), INSTANCE_ID));
+        }
+        changeLogDAO.insert(connection, entries);
+    }
+
+    /**
+     * Reads the entries after the watermark and applies those written by other instances.
+     * The watermark advances over the entries without gaps; entries above a gap are remembered so they are applied once.
+     * An import writes one invalidation per batch, so the invalidations of an entity type are applied once per poll.
+     */
+    private static void poll() {
+        try {
+            Set<String> invalidated = new HashSet<>();
+            List<ChangeLog> entries;
+            do {
+                long before = watermark;
+                entries = changeLogDAO.changesSince(watermark, POLL_LIMIT);
+                for (ChangeLog entry : entries) {
+                    if (seenAboveWatermark.add(entry.getChangelog_id()) && !INSTANCE_ID.equals(entry.getInstance_id())
+                            && (!ChangeEvent.Kind.INVALIDATED.name().equals(entry.getKind()) || invalidated.add(entry.getEntity()))) {
+                        apply(entry);
+                    }
+                }
+                advanceWatermark();
+                if (watermark == before) {
+                    break;
+                }
+            } while (entries.size() == POLL_LIMIT);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "ChangeFeed:poll " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the watermark over the contiguous entries already applied.
+     * A gap that stays open longer than the timeout belongs to an entry that will never appear and is skipped.
+     */
+    private static void advanceWatermark() {
+        while (!seenAboveWatermark.isEmpty() && seenAboveWatermark.first() == watermark + 1) {
+            watermark = seenAboveWatermark.pollFirst();
+        }
+        if (seenAboveWatermark.isEmpty()) {
+            gapSince = 0;
+        } else if (gapSince == 0) {
+            gapSince = System.currentTimeMillis();
+        } else if (System.currentTimeMillis() - gapSince > GAP_TIMEOUT_MS) {
+            watermark = seenAboveWatermark.first() - 1;
+            gapSince = 0;
+            advanceWatermark();
+        }
+    }
+
+    /**
+     * Applies one remote change to the caches and search indexes and publishes it on the bus.
+     *
+     * @param entry the change log entry
+     */
+    private static void apply(ChangeLog entry) {
+        ChangeEvent.Kind kind = ChangeEvent.Kind.valueOf(entry.getKind());
+        switch (entry.getEntity()) {
+            case "client" -> apply(Client.class, kind, entry.getEntity_id(), ClientDAO.getCache(), ClientDAO.getSearchIndex(),
+                    id -> new ClientDAO().getClientById(id));
+            case "product" -> apply(Product.class, kind, entry.getEntity_id(), ProductDAO.getCache(), ProductDAO.getSearchIndex(),
+                    id -> new ProductDAO().getProductById(id));
+            case "orders" -> apply(Orders.class, kind, entry.getEntity_id(), null, null, null);
+            default -> LOGGER.log(Level.WARNING, "ChangeFeed:apply unknown entity " + entry);
+        }
+    }
+
+    /**
+     * Applies one remote change of an entity type and publishes it as a remote event.
+     * Inserted and updated entities are read again, once, so that every listener sees the current entity.
+     *
+     * @param entityType the class of the entity
+     * @param kind the kind of change
+     * @param id the id of the entity
+     * @param cache the cache of the entity type, or null if it has none
+     * @param index the search index of the entity type, or null if it has none
+     * @param reader reads the entity from the database, or null to let the listeners read it
+     * @param <T> the type of the entity
+     */
+    private static <T> void apply(Class<T> entityType, ChangeEvent.Kind kind, int id, EntityCache<T> cache,
+                                  SearchIndex<T> index, IntFunction<T> reader) {
+        if (kind == ChangeEvent.Kind.INVALIDATED) {
+            if (cache != null) {
+                cache.invalidateAll();
+                index.markStale();
+            }
+            ChangeBus.publish(ChangeEvent.invalidated(entityType).asRemote(null));
+            return;
+        }
+        if (cache != null) {
+            cache.invalidate(id);
+        }
+        T entity = kind == ChangeEvent.Kind.DELETED || reader == null ? null : reader.apply(id);
+        if (kind != ChangeEvent.Kind.DELETED && reader != null && entity == null) {
+            kind = ChangeEvent.Kind.DELETED;
+        }
+        if (index != null) {
+            if (entity == null) {
+                index.remove(id);
+            } else {
+                index.put(entity);
+            }
+        }
+        ChangeEvent<T> event = switch (kind) {
+            case INSERTED -> ChangeEvent.inserted(entityType, id, entity);
+            case UPDATED -> ChangeEvent.updated(entityType, id, entity);
+            default -> ChangeEvent.deleted(entityType, id);
+        };
+        ChangeBus.publish(event.asRemote(entity));
+    }
+}
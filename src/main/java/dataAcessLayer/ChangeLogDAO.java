@@ -0,0 +1,103 @@
+package dataAcessLayer;
+
+import connection.ConnectionFactory;
+import model.ChangeLog;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * The ChangeLogDAO class reads and writes the change log, the table in which every application instance
+ * records the writes it made, in the order of an auto-increment sequence number.
+ * Other instances poll the entries after the last sequence number they have seen, which is a range scan
+ * of the primary key.
+ */
+public class ChangeLogDAO extends AbstractDAO<ChangeLog> {
+
+    private static final String INSERT = "INSERT INTO changelog (entity, entity_id, kind, instance_id) VALUES (?, ?, ?, ?)";
+
+    /**
+     * Gets the entries written after the given sequence number, oldest first.
+     *
+     * @param seq the last sequence number already seen
+     * @param limit the maximum number of entries returned
+     * @return the entries, or an empty list if there are none or the log cannot be read
+     */
+    public List<ChangeLog> changesSince(long seq, int limit) {
+        return super.query("SELECT changelog_id, entity, entity_id, kind, instance_id FROM changelog "
+                + "WHERE changelog_id > ? ORDER BY changelog_id LIMIT ?", seq, limit);
+    }
+
+    /**
+     * Gets the sequence number of the newest entry.
+     * The maximum is read as a scalar, not mapped to a {@link ChangeLog}, since the row has no other column.
+     *
+     * @return the newest sequence number, 0 if the log is empty, or -1 if the log cannot be read
+     */
+    public long lastSeq() {
+        try (Connection connection = ConnectionFactory.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT MAX(changelog_id) FROM changelog");
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "ChangeLogDAO:lastSeq " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Writes many entries using batched statements. The sequence numbers are assigned by the database.
+     *
+     * @param entries the entries to be written
+     * @return the outcome of the batch, including the entries that could not be written
+     */
+    public BatchResult<ChangeLog> insertAll(List<ChangeLog> entries) {
+        return super.executeBatch(INSERT, entries, e -> new Object[]{e.getEntity(), e.getEntity_id(), e.getKind(), e.getInstance_id()});
+    }
+
+    /**
+     * Writes entries with one batched statement as part of the caller's transaction,
+     * so they are committed together with the write they describe.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param entries the entries to be written
+     * @throws SQLException if a database access error occurs
+     */
+    void insert(Connection connection, List<ChangeLog> entries) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            for (ChangeLog entry : entries) {
+                statement.setString(1, entry.getEntity());
+                statement.setInt(2, entry.getEntity_id());
+                statement.setString(3, entry.getKind());
+                statement.setString(4, entry.getInstance_id());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Deletes the entries older than the given number of hours, which no running instance still needs.
+     * The cutoff is computed here and bound as a parameter, since the interval syntax differs between databases.
+     *
+     * @param hours the age, in hours, of the oldest entry kept
+     * @return the number of entries deleted
+     */
+    public int deleteOlderThan(int hours) {
+        try (Connection connection = ConnectionFactory.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM changelog WHERE changed_at < ?")) {
+            statement.setTimestamp(1, Timestamp.from(Instant.now().minus(hours, ChronoUnit.HOURS)));
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "ChangeLogDAO:deleteOlderThan " + e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -4,12 +4,60 @@ import connection.ConnectionFactory;
 import model.Client;
 import java.sql.*;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 import java.util.logging.Level;
 /**
  * The ClientDAO class provides data access object implementation for Client objects.
  * It includes methods for common database operations such as insert, update, delete, and find.
+ * Every successful write publishes a {@link ChangeEvent} on the {@link ChangeBus}.
  */
-public class ClientDAO extends AbstractDAO<Client> {
+public class ClientDAO extends AbstractDAO<Client> implements BatchWriter<Client> {
+
+    private static final EntityCache<Client> CACHE = new EntityCache<>(10_000, 10 * 60_000);
+    private static final SearchIndex<Client> SEARCH_INDEX = new SearchIndex<>(Client::getClient_id, Client::getName, Client::getEmail, Client::getPhone_number);
+
+    /**
+     * Gets the client cache shared by every ClientDAO, for example to read its hit and miss counters.
+     *
+     * @return the client cache
+     */
+    public static EntityCache<Client> getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Gets the search index over the name, email and phone number of every client, shared by every ClientDAO.
+     *
+     * @return the client search index
+     */
+    public static SearchIndex<Client> getSearchIndex() {
+        return SEARCH_INDEX;
+    }
+
+    /**
+     * Finds the clients whose name, email and phone number contain words starting with the words of the query.
+     * Answered from the in-memory search index, which is loaded from the database on first use.
+     *
+     * @param query the typed text
+     * @param limit the maximum number of clients returned
+     * @return the matching clients
+     */
+    public List<Client> searchClients(String query, int limit) {
+        SEARCH_INDEX.ensureLoaded(super::streamAll);
+        return SEARCH_INDEX.search(query, limit);
+    }
+
+    /**
+     * Retrieves a client by its id, answering from the cache when possible.
+     * The client returned is shared with the cache and must not be changed.
+     *
+     * @param id the id of the client
+     * @return the client, or null if it does not exist
+     */
+    public Client getClientById(int id) {
+        return CACHE.get(id, key -> super.findById(key, "client"));
+    }
 
     /**
      * Retrieves all clients from the database.
@@ -21,13 +69,70 @@ public class ClientDAO extends AbstractDAO<Client> {
     }
 
     /**
-     * Updates a client in the database.
+     * Retrieves the page of clients that follows the given id, ordered by id.
+     *
+     * @param afterId the id of the last client on the previous page, or 0 for the first page
+     * @param pageSize the maximum number of clients to return
+     * @return the clients of the page
+     */
+    public List<Client> getClientsPage(int afterId, int pageSize) {
+        return super.findPage(afterId, pageSize);
+    }
+
+    /**
+     * Updates a client in the database, unless it was changed by someone else since it was read.
+     * The version is checked and incremented by the UPDATE itself, so no lock is held while the user edits.
+     * A conflict is published as a change made elsewhere, so that open views show the stored client.
+     *
+     * @param client the client to be updated, with the version it was read with
+     * @return the outcome of the update; on success the client carries its new version
+     */
+    public UpdateResult<Client> updateClient(Client client) {
+        String query = "UPDATE client SET name = ?, email = ?, phone_number = ?, address = ?, version = version + 1 WHERE client_id = ? AND version = ?";
+        UpdateResult<Client> result = super.compareAndSet(client, client.getClient_id(), query, client.getName(), client.getEmail(),
+                client.getPhone_number(), client.getAddress(), client.getClient_id(), client.getVersion());
+        CACHE.invalidate(client.getClient_id());
+        if (result.isSuccessful()) {
+            client.setVersion(client.getVersion() + 1);
+            SEARCH_INDEX.put(client);
+            ChangeBus.publish(ChangeEvent.updated(Client.class, client.getClient_id(), client));
+        } else if (result.getStatus() == UpdateResult.Status.CONFLICT) {
+            SEARCH_INDEX.put(result.getEntity());
+            ChangeBus.publish(ChangeEvent.updated(Client.class, client.getClient_id(), result.getEntity()).asRemote(result.getEntity()));
+        }
+        return result;
+    }
+
+    /**
+     * Updates a client and, if it was changed by someone else since it was read, re-reads it and merges the edit
+     * into it: the fields the edit did not change keep their stored values.
+     *
+     * @param original the client as it was read
+     * @param edited the edited client; its version is taken from the original
+     * @return the outcome of the update; a conflict lists the fields changed on both sides
+     */
+    public UpdateResult<Client> updateClient(Client original, Client edited) {
+        edited.setVersion(original.getVersion());
+        return super.updateMerging(original, edited, this::updateClient, ClientDAO::merge);
+    }
+
+    /**
+     * Merges an edit of a client into the client as stored now.
      *
-     * @param client the client to be updated
+     * @param base the client the edit started from
+     * @param mine the edited client
+     * @param theirs the client as stored now
+     * @param fields collects the fields changed on both sides
+     * @return the merged client, with the stored version
      */
-    public void updateClient(Client client) {
-        String query = "UPDATE client SET name = ?, email = ?, phone_number = ?, address = ? WHERE client_id = ?";
-        super.update(client, query, client.getName(), client.getEmail(), client.getPhone_number(), client.getAddress(), client.getClient_id());
+    private static Client merge(Client base, Client mine, Client theirs, FieldMerge fields) {
+        Client merged = new Client(theirs.getClient_id(),
+                fields.pick("name", base.getName(), mine.getName(), theirs.getName()),
+                fields.pick("email", base.getEmail(), mine.getEmail(), theirs.getEmail()),
+                fields.pick("phone_number", base.getPhone_number(), mine.getPhone_number(), theirs.getPhone_number()),
+                fields.pick("address", base.getAddress(), mine.getAddress(), theirs.getAddress()));
+        merged.setVersion(theirs.getVersion());
+        return merged;
     }
 
     /**
@@ -36,16 +141,147 @@ public class ClientDAO extends AbstractDAO<Client> {
      * @param client the client to be deleted
      */
     public void delete(Client client) {
-        super.delete(client.getClient_id(), "client");
+        boolean deleted = super.delete(client.getClient_id(), "client");
+        CACHE.invalidate(client.getClient_id());
+        if (deleted) {
+            SEARCH_INDEX.remove(client.getClient_id());
+            ChangeBus.publish(ChangeEvent.deleted(Client.class, client.getClient_id()));
+        }
     }
 
     /**
      * Inserts a new client into the database.
+     * The generated id is stored back into the client.
      *
      * @param client the client to be inserted
      */
     public void insertClient(Client client) {
         String query = "INSERT INTO client (name, email, phone_number, address) VALUES (?, ?, ?, ?)";
-        super.insert(client, query, client.getName(), client.getEmail(), client.getPhone_number(), client.getAddress());
+        int id = super.insert(client, query, client.getName(), client.getEmail(), client.getPhone_number(), client.getAddress());
+        if (id > 0) {
+            client.setClient_id(id);
+            SEARCH_INDEX.put(client);
+            ChangeBus.publish(ChangeEvent.inserted(Client.class, id, client));
+        }
+    }
+
+    /**
+     * Deletes several clients in one transaction: either all of them are deleted or none.
+     * Clients that no longer exist are skipped, and change events are published only for the clients deleted.
+     *
+     * @param ids the ids of the clients
+     * @return the number of clients deleted, or -1 if none could be deleted
+     */
+    public int deleteClients(int[] ids) {
+        List<Client> deleted = super.deleteExistingByIds(ids);
+        for (int id : ids) {
+            CACHE.invalidate(id);
+        }
+        if (deleted == null) {
+            return -1;
+        }
+        for (Client client : deleted) {
+            SEARCH_INDEX.remove(client.getClient_id());
+            ChangeBus.publish(ChangeEvent.deleted(Client.class, client.getClient_id()));
+        }
+        return deleted.size();
+    }
+
+    /**
+     * Sets the same values on several clients in one transaction: either all of them are updated or none.
+     * The updated clients are read back with one query to refresh the search index and the change events.
+     *
+     * @param ids the ids of the clients
+     * @param values the new value of each changed column, by column name
+     * @return the number of clients updated, or -1 if none could be updated
+     */
+    public int updateClients(int[] ids, Map<String, Object> values) {
+        int updated = super.updateByIds(ids, values);
+        for (int id : ids) {
+            CACHE.invalidate(id);
+        }
+        if (updated > 0) {
+            for (Client client : super.findByIds(ids)) {
+                SEARCH_INDEX.put(client);
+                ChangeBus.publish(ChangeEvent.updated(Client.class, client.getClient_id(), client));
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Inserts many clients using batched statements.
+     * The ids of the new clients are not read back, so the search index is reloaded on its next use.
+     *
+     * @param clients the clients to be inserted
+     * @return the outcome of the batch, including the clients that could not be inserted
+     */
+    @Override
+    public BatchResult<Client> insertAll(List<Client> clients) {
+        BatchResult<Client> result = insertAllUnannounced(clients);
+        if (result.getSucceeded() > 0) {
+            announceBulkInsert();
+        }
+        return result;
+    }
+
+    /**
+     * Inserts many clients using batched statements, without marking the search index stale or publishing a change.
+     * Meant for imports that write many batches: they call {@link #announceBulkInsert()} once at the end,
+     * so open views reload once instead of once per batch. Each batch records an invalidation in the change log,
+     * which the other instances apply once per poll.
+     *
+     * @param clients the clients to be inserted
+     * @return the outcome of the batch, including the clients that could not be inserted
+     */
+    public BatchResult<Client> insertAllUnannounced(List<Client> clients) {
+        String query = "INSERT INTO client (name, email, phone_number, address) VALUES (?, ?, ?, ?)";
+        return super.executeBatch(query, clients, c -> new Object[]{c.getName(), c.getEmail(), c.getPhone_number(), c.getAddress()},
+                (connection, written) -> recordChange(connection, ChangeEvent.Kind.INVALIDATED));
+    }
+
+    /**
+     * Marks the search index stale and publishes, in this instance, that clients were inserted whose ids are not known.
+     */
+    public void announceBulkInsert() {
+        SEARCH_INDEX.markStale();
+        ChangeBus.publish(ChangeEvent.invalidated(Client.class));
+    }
+
+    /**
+     * Updates many clients using batched statements.
+     * The rows are overwritten whatever their version, and their versions are incremented.
+     * The rows written are read back, so the index and the published changes carry their new versions.
+     *
+     * @param clients the clients to be updated
+     * @return the outcome of the batch, including the clients that could not be updated
+     */
+    @Override
+    public BatchResult<Client> updateAll(List<Client> clients) {
+        String query = "UPDATE client SET name = ?, email = ?, phone_number = ?, address = ?, version = version + 1 WHERE client_id = ?";
+        BatchResult<Client> result = super.executeBatch(query, clients, c -> new Object[]{c.getName(), c.getEmail(), c.getPhone_number(), c.getAddress(), c.getClient_id()},
+                (connection, written) -> recordChange(connection, ChangeEvent.Kind.UPDATED, written.stream().mapToInt(Client::getClient_id).toArray()));
+        clients.forEach(client -> CACHE.invalidate(client.getClient_id()));
+        reindex(clients, result);
+        return result;
+    }
+
+    /**
+     * Reads back the clients a batch update wrote, puts them into the search index and publishes their changes.
+     *
+     * @param clients the clients of the batch
+     * @param result the outcome of the batch
+     */
+    private void reindex(List<Client> clients, BatchResult<Client> result) {
+        boolean[] failed = new boolean[clients.size()];
+        result.getFailures().forEach(failure -> failed[failure.getIndex()] = true);
+        int[] written = IntStream.range(0, clients.size()).filter(i -> !failed[i]).map(i -> clients.get(i).getClient_id()).toArray();
+        if (written.length == 0) {
+            return;
+        }
+        for (Client stored : super.findByIds(written)) {
+            SEARCH_INDEX.put(stored);
+            ChangeBus.publish(ChangeEvent.updated(Client.class, stored.getClient_id(), stored));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package dataAcessLayer;
+
+import connection.ConnectionFactory;
+import connection.OperationMetrics;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The DaoMetrics class holds the {@link OperationMetrics} of every DAO operation of every entity type
+ * and publishes each of them as a JMX MBean named {@code dataAcessLayer:type=DaoMetrics,entity=...,operation=...}.
+ * Connection acquisition is published as {@code dataAcessLayer:type=DaoMetrics,entity=Connection,operation=acquire}.
+ * The DAOs look their metrics up once, when they are created, so recording a call costs two clock reads
+ * and a few atomic increments. The metrics can also be logged periodically.
+ */
+public final class DaoMetrics {
+
+    private static final Logger LOGGER = Logger.getLogger(DaoMetrics.class.getName());
+    private static final Map<String, OperationMetrics> METRICS = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService logger;
+
+    static {
+        register("Connection", "acquire", ConnectionFactory.getAcquireMetrics());
+    }
+
+    private DaoMetrics() {
+    }
+
+    /**
+     * Gets the metrics of an operation on an entity type, creating and publishing them on first use.
+     *
+     * @param entityType the class of the entities
+     * @param operation the name of the operation, for example "insert"
+     * @return the metrics shared by every DAO of the entity type
+     */
+    public static OperationMetrics forOperation(Class<?> entityType, String operation) {
+        String entity = entityType.getSimpleName();
+        return METRICS.computeIfAbsent(entity + "." + operation, name -> {
+            OperationMetrics metrics = new OperationMetrics(name);
+            registerMBean(entity, operation, metrics);
+            return metrics;
+        });
+    }
+
+    /**
+     * Gets the metrics of every operation recorded so far, sorted by name.
+     *
+     * @return the metrics by name, for example "Client.insert"
+     */
+    public static Map<String, OperationMetrics> getAll() {
+        return new ConcurrentSkipListMap<>(METRICS);
+    }
+
+    /**
+     * Starts logging the metrics of every operation that was called, at INFO level, every given number of seconds.
+     * Does nothing if the period is not positive or logging has already started.
+     *
+     * @param periodSeconds the time between two snapshots, in seconds
+     */
+    public static synchronized void startLogging(long periodSeconds) {
+        if (periodSeconds <= 0 || logger != null) {
+            return;
+        }
+        logger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dao-metrics-logger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.scheduleAtFixedRate(DaoMetrics::logSnapshot, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Logs the metrics of every operation that was called.
+     */
+    public static void logSnapshot() {
+        getAll().values().stream()
+                .filter(metrics -> metrics.getCalls() > 0)
+                .forEach(metrics -> LOGGER.info(metrics.toString()));
+    }
+
+    /**
+     * Adds metrics created elsewhere under the given name and publishes them.
+     *
+     * @param entity the entity part of the name
+     * @param operation the operation part of the name
+     * @param metrics the metrics
+     */
+    private static void register(String entity, String operation, OperationMetrics metrics) {
+        METRICS.put(entity + "." + operation, metrics);
+        registerMBean(entity, operation, metrics);
+    }
+
+    /**
+     * Publishes metrics as an MBean. A failure only loses the JMX view of the metrics, which are still recorded.
+     *
+     * @param entity the entity part of the name
+     * @param operation the operation part of the name
+     * @param metrics the metrics
+     */
+    private static void registerMBean(String entity, String operation, OperationMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("dataAcessLayer:type=DaoMetrics,entity=" + entity + ",operation=" + operation);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "DaoMetrics:registerMBean " + e.getMessage());
+        }
+    }
+}
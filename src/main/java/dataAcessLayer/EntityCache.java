@@ -0,0 +1,168 @@
+package dataAcessLayer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * The EntityCache class is a bounded, read-through cache of entities keyed by id.
+ * When full, the least recently used entry is evicted. Entries can optionally expire after a fixed time.
+ * Hits, misses and evictions are counted so the effectiveness of the cache can be observed.
+ * A load that overlaps an invalidation of the same id is returned to its caller but not cached,
+ * so a value read before a change can never be cached after it.
+ * Cached entities are shared by every reader and must not be mutated; copy an entity before changing it.
+ *
+ * @param <T> the type of the cached entities
+ */
+public class EntityCache<T> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<Integer, Entry<T>> entries;
+    private final Map<Integer, Object> loading = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize the maximum number of entities kept
+     * @param ttlMillis how long an entity stays valid after being loaded, or 0 to keep it until evicted
+     */
+    public EntityCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry<T>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached entity with the given id, loading and caching it on a miss.
+     * Entities the loader cannot find are not cached, nor are entities whose id was invalidated while they were loading.
+     * The returned entity is shared and must not be mutated.
+     *
+     * @param id the id of the entity
+     * @param loader loads the entity from the database
+     * @return the entity, or null if it does not exist
+     */
+    public T get(int id, IntFunction<T> loader) {
+        Object load = new Object();
+        synchronized (entries) {
+            Entry<T> entry = entries.get(id);
+            if (entry != null) {
+                if (ttlNanos == 0 || System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(id);
+            }
+            loading.put(id, load);
+        }
+        misses.increment();
+        T value = null;
+        try {
+            value = loader.apply(id);
+        } finally {
+            synchronized (entries) {
+                if (loading.remove(id, load) && value != null) {
+                    entries.put(id, new Entry<>(value, System.nanoTime()));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes the entity with the given id, so the next read goes to the database.
+     * A load of the id already in progress is not cached.
+     *
+     * @param id the id of the entity
+     */
+    public void invalidate(int id) {
+        synchronized (entries) {
+            entries.remove(id);
+            loading.remove(id);
+        }
+    }
+
+    /**
+     * Removes every cached entity. Loads already in progress are not cached.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            loading.clear();
+        }
+    }
+
+    /**
+     * Gets the number of cached entities.
+     *
+     * @return the current size of the cache
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Gets the number of reads answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of reads that had to go to the database.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of entities dropped because the cache was full.
+     *
+     * @return the eviction count
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCache{size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions() + '}';
+    }
+
+    /**
+     * The Entry class holds a cached entity and the time it was loaded.
+     *
+     * @param <T> the type of the entity
+     */
+    private static final class Entry<T> {
+        private final T value;
+        private final long loadedAt;
+
+        private Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package dataAcessLayer;
+
+/**
+ * The ExportFormat enum lists the file formats a table can be exported to.
+ */
+public enum ExportFormat {
+    /**
+     * Comma-separated values with a header line.
+     */
+    CSV("csv"),
+    /**
+     * One JSON object per line.
+     */
+    JSON_LINES("jsonl");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Gets the file name extension of the format, without the dot.
+     *
+     * @return the extension
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
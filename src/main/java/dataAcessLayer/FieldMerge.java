@@ -0,0 +1,43 @@
+package dataAcessLayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The FieldMerge class merges an edit into a row that was changed by someone else, one column at a time.
+ * A column keeps the stored value unless the edit changed it; a column changed by both sides to different values is a conflict.
+ */
+final class FieldMerge {
+
+    private final List<String> conflicts = new ArrayList<>();
+
+    /**
+     * Picks the merged value of one column.
+     *
+     * @param column the column name, reported if the column conflicts
+     * @param base the value the edit started from
+     * @param mine the value of the edit
+     * @param theirs the value stored now
+     * @param <V> the type of the value
+     * @return the edited value if the edit changed the column, the stored value otherwise
+     */
+    <V> V pick(String column, V base, V mine, V theirs) {
+        if (Objects.equals(mine, base)) {
+            return theirs;
+        }
+        if (!Objects.equals(theirs, base) && !Objects.equals(theirs, mine)) {
+            conflicts.add(column);
+        }
+        return mine;
+    }
+
+    /**
+     * Gets the columns changed by both sides to different values.
+     *
+     * @return the conflicting column names, in the order they were picked
+     */
+    List<String> getConflicts() {
+        return conflicts;
+    }
+}
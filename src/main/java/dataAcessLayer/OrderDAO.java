@@ -1,18 +1,38 @@
 package dataAcessLayer;
 
 import connection.ConnectionFactory;
+import connection.OperationMetrics;
+import model.ClientSales;
+import model.DailySales;
+import model.OrderDetails;
 import model.Orders;
+import model.ProductSales;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
+import java.util.stream.Stream;
 /**
  * The OrderDAO class provides data access operations for the Orders table in the database.
  * It extends the AbstractDAO class and overrides its methods to perform operations specific to the Orders table.
+ * Every write also updates the {@link SalesSummary} and records its change in the {@link ChangeFeed} log
+ * in the same transaction, and the writes that manage their own transaction publish a {@link ChangeEvent}
+ * once it is committed.
  */
-public class OrderDAO extends AbstractDAO<Orders> {
+public class OrderDAO extends AbstractDAO<Orders> implements BatchWriter<Orders> {
+
+    private static final OperationMetrics INSERT_METRICS = DaoMetrics.forOperation(Orders.class, "insert");
+    private static final String ORDER_DETAILS_QUERY = "SELECT o.order_id, o.client_id, c.name AS client_name, "
+            + "o.product_id, p.name AS product_name, p.price, o.quantity, o.order_date, o.quantity * p.price AS total, o.version "
+            + "FROM orders o LEFT JOIN client c ON c.client_id = o.client_id LEFT JOIN product p ON p.product_id = o.product_id";
 
     /**
      * Retrieves all orders from the Orders table.
@@ -23,24 +43,267 @@ public class OrderDAO extends AbstractDAO<Orders> {
         return super.findAll();
     }
 
+    /**
+     * Retrieves the page of orders that follows the given id, ordered by id.
+     *
+     * @param afterId the id of the last order on the previous page, or 0 for the first page
+     * @param pageSize the maximum number of orders to return
+     * @return the orders of the page
+     */
+    public List<Orders> getOrdersPage(int afterId, int pageSize) {
+        return super.findPage(afterId, pageSize);
+    }
+
+    /**
+     * Streams all orders from the Orders table without loading them all into memory.
+     * The returned stream must be closed to release its connection.
+     *
+     * @return a closeable stream of all orders in the Orders table.
+     */
+    public Stream<Orders> streamAllOrders() {
+        return super.streamAll();
+    }
+
+    /**
+     * Retrieves the details of one order.
+     *
+     * @param orderId the id of the order
+     * @return the order details, or null if the order does not exist
+     */
+    public OrderDetails getOrderDetails(int orderId) {
+        List<OrderDetails> details = super.query(OrderDetails.class, ORDER_DETAILS_QUERY + " WHERE o.order_id = ?", orderId);
+        return details.isEmpty() ? null : details.get(0);
+    }
+
+    /**
+     * Retrieves the page of order details that follows the given order id, ordered by id.
+     * Each order comes joined with its client name and its product name and price in the same query,
+     * so a page costs one round trip whatever its size.
+     *
+     * @param afterId the id of the last order on the previous page, or 0 for the first page
+     * @param pageSize the maximum number of orders to return
+     * @return the order details of the page
+     */
+    public List<OrderDetails> getOrderDetailsPage(int afterId, int pageSize) {
+        return super.query(OrderDetails.class, ORDER_DETAILS_QUERY + " WHERE o.order_id > ? ORDER BY o.order_id LIMIT ?",
+                afterId, pageSize);
+    }
+
+    /**
+     * Streams the details of all orders, ordered by id, without loading them all into memory.
+     * The returned stream must be closed to release its connection.
+     *
+     * @return a closeable stream of the details of every order
+     */
+    public Stream<OrderDetails> streamOrderDetails() {
+        return super.stream(OrderDetails.class, ORDER_DETAILS_QUERY + " ORDER BY o.order_id");
+    }
+
     /**
      * Inserts a new order into the Orders table.
      *
      * @param order the order to be inserted
      */
     public void insertOrder(Orders order) {
+        if (inTransaction("insertOrder", connection -> {
+            insertOrder(connection, order);
+            return true;
+        })) {
+            ChangeBus.publish(ChangeEvent.inserted(Orders.class, order.getOrder_id(), order));
+        }
+    }
+
+    /**
+     * Inserts a new order into the Orders table as part of the caller's transaction.
+     * The generated order id is stored back into the order.
+     * No change event is published; the caller publishes it once the transaction is committed.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param order the order to be inserted
+     * @throws SQLException if a database access error occurs
+     */
+    public void insertOrder(Connection connection, Orders order) throws SQLException {
+        String query = "INSERT INTO orders (client_id, product_id, quantity, order_date) VALUES (?, ?, ?, ?)";
+        SqlCall call = SqlCall.start(INSERT_METRICS, query);
+        try (PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            statement.setInt(1, order.getClient_id());
+            statement.setInt(2, order.getProduct_id());
+            statement.setInt(3, order.getQuantity());
+            statement.setObject(4, order.getOrder_date());
+            int rows = statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (keys.next()) {
+                    order.setOrder_id(keys.getInt(1));
+                }
+            }
+            call.succeeded(rows);
+        } catch (SQLException e) {
+            call.failed();
+            throw e;
+        }
+        SalesSummary.add(connection, List.of(order));
+        recordChange(connection, ChangeEvent.Kind.INSERTED, order.getOrder_id());
+    }
+
+    /**
+     * Inserts several orders with one batched statement as part of the caller's transaction.
+     * The generated order ids are stored back into the orders.
+     * No change event is published; the caller publishes them once the transaction is committed.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param orders the orders to be inserted
+     * @throws SQLException if a database access error occurs
+     */
+    public void insertOrders(Connection connection, List<Orders> orders) throws SQLException {
         String query = "INSERT INTO orders (client_id, product_id, quantity, order_date) VALUES (?, ?, ?, ?)";
-        super.insert(order, query, order.getClient_id(), order.getProduct_id(), order.getQuantity(), order.getOrder_date());
+        try (PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            for (Orders order : orders) {
+                statement.setInt(1, order.getClient_id());
+                statement.setInt(2, order.getProduct_id());
+                statement.setInt(3, order.getQuantity());
+                statement.setObject(4, order.getOrder_date());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                for (int i = 0; i < orders.size() && keys.next(); i++) {
+                    orders.get(i).setOrder_id(keys.getInt(1));
+                }
+            }
+        }
+        SalesSummary.add(connection, orders);
+        recordChange(connection, ChangeEvent.Kind.INSERTED, orders.stream().mapToInt(Orders::getOrder_id).toArray());
+    }
+
+    /**
+     * Updates an order in the Orders table, unless it was changed by someone else since it was read.
+     * The stored row is read without a lock and written only if it still has the version read,
+     * so no lock is held while the user edits the order, nor before the UPDATE of this short transaction.
+     * A conflict is published as a change made elsewhere, so that open views show the stored order.
+     *
+     * @param order the order to be updated, with the version it was read with
+     * @return the outcome of the update; on success the order carries its new version
+     */
+    public UpdateResult<Orders> updateOrder(Orders order) {
+        List<UpdateResult<Orders>> outcome = new ArrayList<>(1);
+        if (!inTransaction("updateOrder", connection -> {
+            outcome.add(updateIfVersion(connection, order));
+            return true;
+        })) {
+            return UpdateResult.failed();
+        }
+        UpdateResult<Orders> result = outcome.get(0);
+        if (result.getStatus() == UpdateResult.Status.CONFLICT && result.getEntity() == null) {
+            Orders stored = super.findById(order.getOrder_id(), "orders");
+            result = stored == null ? UpdateResult.notFound() : UpdateResult.conflict(stored, List.of());
+        }
+        if (result.isSuccessful()) {
+            order.setVersion(order.getVersion() + 1);
+            ChangeBus.publish(ChangeEvent.updated(Orders.class, order.getOrder_id(), order));
+        } else if (result.getStatus() == UpdateResult.Status.CONFLICT) {
+            ChangeBus.publish(ChangeEvent.updated(Orders.class, order.getOrder_id(), result.getEntity()).asRemote(result.getEntity()));
+        }
+        return result;
+    }
+
+    /**
+     * Updates an order and, if it was changed by someone else since it was read, re-reads it and merges the edit into it.
+     *
+     * @param original the order as it was read
+     * @param edited the edited order; its version is taken from the original
+     * @return the outcome of the update; a conflict lists the fields changed on both sides
+     */
+    public UpdateResult<Orders> updateOrder(Orders original, Orders edited) {
+        edited.setVersion(original.getVersion());
+        return super.updateMerging(original, edited, this::updateOrder, OrderDAO::merge);
     }
 
     /**
-     * Updates an order in the Orders table.
+     * Merges an edit of an order into the order as stored now.
      *
+     * @param base the order the edit started from
+     * @param mine the edited order
+     * @param theirs the order as stored now
+     * @param fields collects the fields changed on both sides
+     * @return the merged order, with the stored version
+     */
+    private static Orders merge(Orders base, Orders mine, Orders theirs, FieldMerge fields) {
+        Orders merged = new Orders(theirs.getOrder_id(),
+                fields.pick("client_id", base.getClient_id(), mine.getClient_id(), theirs.getClient_id()),
+                fields.pick("product_id", base.getProduct_id(), mine.getProduct_id(), theirs.getProduct_id()),
+                fields.pick("quantity", base.getQuantity(), mine.getQuantity(), theirs.getQuantity()),
+                fields.pick("order_date", base.getOrder_date(), mine.getOrder_date(), theirs.getOrder_date()));
+        merged.setVersion(theirs.getVersion());
+        return merged;
+    }
+
+    /**
+     * Updates an order as part of the caller's transaction if it still has the version it was read with.
+     * The stored order is read without a lock; the UPDATE then only matches the row if it still has the version read,
+     * in which case the values read are the ones replaced and are moved out of the sales summary.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param order the order to be updated, with the version it was read with
+     * @return UPDATED with the order, NOT_FOUND, or CONFLICT with the order as stored now, or without an order
+     * if the row changed between the read and the update and has to be read again outside this transaction
+     * @throws SQLException if a database access error occurs
+     */
+    private UpdateResult<Orders> updateIfVersion(Connection connection, Orders order) throws SQLException {
+        Orders current = readOrder(connection, order.getOrder_id(), false);
+        if (current == null) {
+            return UpdateResult.notFound();
+        }
+        if (current.getVersion() != order.getVersion()) {
+            return UpdateResult.conflict(current, List.of());
+        }
+        if (!writeOrder(connection, current, order)) {
+            return UpdateResult.conflict(null, List.of());
+        }
+        return UpdateResult.updated(order);
+    }
+
+    /**
+     * Updates an order in the Orders table as part of the caller's transaction, whatever its version.
+     * The order row is locked and read first, so that the sales summary moves the old values out and the new ones in.
+     *
+     * @param connection the connection of the caller's transaction
      * @param order the order to be updated
+     * @return true if the order was updated, false if it does not exist
+     * @throws SQLException if a database access error occurs
      */
-    public void updateOrder(Orders order) {
-        String query = "UPDATE orders SET client_id = ?, product_id = ?, quantity = ?, order_date = ? WHERE order_id = ?";
-        super.update(order, query, order.getClient_id(), order.getProduct_id(), order.getQuantity(), order.getOrder_date(), order.getOrder_id());
+    public boolean updateOrder(Connection connection, Orders order) throws SQLException {
+        Orders current = readOrder(connection, order.getOrder_id(), true);
+        return current != null && writeOrder(connection, current, order);
+    }
+
+    /**
+     * Writes an order over its row if the row still has the version it was read with,
+     * increments its version and moves its sales summary totals.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param current the order as stored when it was read
+     * @param order the new values of the order
+     * @return true if the row was written, false if its version changed since it was read
+     * @throws SQLException if a database access error occurs
+     */
+    private boolean writeOrder(Connection connection, Orders current, Orders order) throws SQLException {
+        String query = "UPDATE orders SET client_id = ?, product_id = ?, quantity = ?, order_date = ?, version = version + 1 "
+                + "WHERE order_id = ? AND version = ?";
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setInt(1, order.getClient_id());
+            statement.setInt(2, order.getProduct_id());
+            statement.setInt(3, order.getQuantity());
+            statement.setObject(4, order.getOrder_date());
+            statement.setInt(5, order.getOrder_id());
+            statement.setInt(6, current.getVersion());
+            if (statement.executeUpdate() == 0) {
+                return false;
+            }
+        }
+        SalesSummary.remove(connection, List.of(current));
+        SalesSummary.add(connection, List.of(order));
+        recordChange(connection, ChangeEvent.Kind.UPDATED, order.getOrder_id());
+        return true;
     }
 
     /**
@@ -49,12 +312,312 @@ public class OrderDAO extends AbstractDAO<Orders> {
      * @param order the order to be deleted
      */
     public void delete(Orders order) {
-        try (Connection connection = ConnectionFactory.getConnection();
-             PreparedStatement statement = connection.prepareStatement("DELETE FROM orders WHERE order_id = ?")) {
+        if (inTransaction("delete", connection -> delete(connection, order))) {
+            ChangeBus.publish(ChangeEvent.deleted(Orders.class, order.getOrder_id()));
+        }
+    }
+
+    /**
+     * Deletes an order from the Orders table as part of the caller's transaction.
+     * The values removed from the sales summary are the ones stored in the database, not the ones of the argument.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param order the order to be deleted
+     * @return true if the order was deleted, false if it does not exist
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean delete(Connection connection, Orders order) throws SQLException {
+        Orders current = readOrder(connection, order.getOrder_id(), true);
+        if (current == null) {
+            return false;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM orders WHERE order_id = ?")) {
             statement.setInt(1, order.getOrder_id());
             statement.executeUpdate();
+        }
+        SalesSummary.remove(connection, List.of(current));
+        recordChange(connection, ChangeEvent.Kind.DELETED, order.getOrder_id());
+        return true;
+    }
+
+    /**
+     * Deletes several orders in one transaction together with their sales summary changes:
+     * either all of them are deleted or none.
+     *
+     * @param ids the ids of the orders
+     * @return the deleted orders as they were stored, empty if none could be deleted
+     */
+    public List<Orders> deleteOrders(int[] ids) {
+        List<Orders> deleted = new ArrayList<>();
+        if (ids.length == 0 || !inTransaction("deleteOrders", connection -> {
+            deleted.addAll(lockByIds(connection, ids));
+            deleteByIds(connection, ids);
+            SalesSummary.remove(connection, deleted);
+            return true;
+        })) {
+            return List.of();
+        }
+        deleted.forEach(order -> ChangeBus.publish(ChangeEvent.deleted(Orders.class, order.getOrder_id())));
+        return deleted;
+    }
+
+    /**
+     * Moves several orders to the same date in one transaction together with their sales summary changes:
+     * either all of them are updated or none.
+     *
+     * @param ids the ids of the orders
+     * @param orderDate the new order date
+     * @return the number of orders updated, or -1 if none could be updated
+     */
+    public int updateOrderDates(int[] ids, Date orderDate) {
+        if (ids.length == 0) {
+            return 0;
+        }
+        List<Orders> moved = new ArrayList<>();
+        if (!inTransaction("updateOrderDates", connection -> {
+            List<Orders> current = lockByIds(connection, ids);
+            updateByIds(connection, ids, Map.of("order_date", orderDate));
+            for (Orders order : current) {
+                Orders movedOrder = new Orders(order.getOrder_id(), order.getClient_id(), order.getProduct_id(), order.getQuantity(), orderDate);
+                movedOrder.setVersion(order.getVersion() + 1);
+                moved.add(movedOrder);
+            }
+            SalesSummary.remove(connection, current);
+            SalesSummary.add(connection, moved);
+            return true;
+        })) {
+            return -1;
+        }
+        moved.forEach(order -> ChangeBus.publish(ChangeEvent.updated(Orders.class, order.getOrder_id(), order)));
+        return moved.size();
+    }
+
+    /**
+     * Reads an order as part of the caller's transaction, optionally locking its row until the transaction ends.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param orderId the id of the order
+     * @param lock whether to lock the row
+     * @return the order as stored in the database, or null if it does not exist
+     * @throws SQLException if a database access error occurs
+     */
+    private Orders readOrder(Connection connection, int orderId, boolean lock) throws SQLException {
+        String query = "SELECT * FROM orders WHERE order_id = ?" + (lock ? " FOR UPDATE" : "");
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setInt(1, orderId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                return createObject(resultSet, RowMapper.forType(Orders.class).resolveColumns(resultSet.getMetaData()));
+            }
+        }
+    }
+
+    /**
+     * Aggregates the orders placed between two dates, inclusive, by product.
+     * The totals are read from the sales summary, which holds one row per day and product.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @param limit the maximum number of products to return
+     * @return the products with the highest revenue first
+     */
+    public List<ProductSales> salesByProduct(java.sql.Date from, java.sql.Date to, int limit) {
+        String query = "SELECT p.product_id, p.name, SUM(s.order_count) AS order_count, SUM(s.units_sold) AS units_sold, "
+                + "SUM(s.units_sold * p.price) AS revenue "
+                + "FROM sales_summary s JOIN product p ON p.product_id = s.product_id "
+                + "WHERE s.order_date BETWEEN ? AND ? "
+                + "GROUP BY p.product_id, p.name ORDER BY revenue DESC, p.product_id LIMIT ?";
+        return super.query(ProductSales.class, query, from, to, limit);
+    }
+
+    /**
+     * Aggregates the orders placed between two dates, inclusive, by client.
+     * The orders of the range are found through the (order_date, client_id) index. Orders without a client are left out.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @param limit the maximum number of clients to return
+     * @return the clients with the highest revenue first
+     */
+    public List<ClientSales> salesByClient(java.sql.Date from, java.sql.Date to, int limit) {
+        String query = "SELECT c.client_id, c.name, COUNT(*) AS order_count, SUM(o.quantity) AS units_sold, "
+                + "SUM(o.quantity * p.price) AS revenue "
+                + "FROM orders o JOIN client c ON c.client_id = o.client_id JOIN product p ON p.product_id = o.product_id "
+                + "WHERE o.order_date BETWEEN ? AND ? "
+                + "GROUP BY c.client_id, c.name ORDER BY revenue DESC, c.client_id LIMIT ?";
+        return super.query(ClientSales.class, query, from, to, limit);
+    }
+
+    /**
+     * Aggregates the orders placed between two dates, inclusive, by day.
+     * The totals are read from the sales summary. Days without orders are left out.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @return one row per day with orders, in date order
+     */
+    public List<DailySales> salesByDay(java.sql.Date from, java.sql.Date to) {
+        String query = "SELECT s.order_date, SUM(s.order_count) AS order_count, SUM(s.units_sold) AS units_sold, "
+                + "SUM(s.units_sold * p.price) AS revenue "
+                + "FROM sales_summary s JOIN product p ON p.product_id = s.product_id "
+                + "WHERE s.order_date BETWEEN ? AND ? "
+                + "GROUP BY s.order_date ORDER BY s.order_date";
+        return super.query(DailySales.class, query, from, to);
+    }
+
+    /**
+     * Inserts many orders using batched statements.
+     * The orders are written in chunks of the batch size, each chunk in its own transaction together with its
+     * sales summary changes. A failing chunk is rolled back and replayed one order at a time.
+     *
+     * @param orders the orders to be inserted
+     * @return the outcome of the batch, including the orders that could not be inserted
+     */
+    @Override
+    public BatchResult<Orders> insertAll(List<Orders> orders) {
+        BatchResult<Orders> result = writeInChunks("insertAll", orders, this::insertOrders);
+        publishWritten(orders, result, ChangeEvent.Kind.INSERTED);
+        return result;
+    }
+
+    /**
+     * Updates many orders, in chunks of the batch size, each chunk in its own transaction together with its
+     * sales summary changes. A failing chunk is rolled back and replayed one order at a time.
+     * The rows are overwritten whatever their version; the orders written take the new version of their row.
+     *
+     * @param orders the orders to be updated
+     * @return the outcome of the batch, including the orders that could not be updated
+     */
+    @Override
+    public BatchResult<Orders> updateAll(List<Orders> orders) {
+        Map<Integer, Integer> versions = new HashMap<>();
+        BatchResult<Orders> result = writeInChunks("updateAll", orders, (connection, chunk) -> {
+            for (Orders order : chunk) {
+                Orders current = readOrder(connection, order.getOrder_id(), true);
+                if (current == null || !writeOrder(connection, current, order)) {
+                    throw new SQLException("Order " + order.getOrder_id() + " does not exist");
+                }
+                versions.put(order.getOrder_id(), current.getVersion() + 1);
+            }
+        });
+        boolean[] failed = new boolean[orders.size()];
+        result.getFailures().forEach(failure -> failed[failure.getIndex()] = true);
+        for (int i = 0; i < orders.size(); i++) {
+            if (!failed[i]) {
+                orders.get(i).setVersion(versions.get(orders.get(i).getOrder_id()));
+            }
+        }
+        publishWritten(orders, result, ChangeEvent.Kind.UPDATED);
+        return result;
+    }
+
+    /**
+     * Publishes a change event for every order a batch wrote.
+     *
+     * @param orders the orders of the batch
+     * @param result the outcome of the batch
+     * @param kind the kind of change
+     */
+    private static void publishWritten(List<Orders> orders, BatchResult<Orders> result, ChangeEvent.Kind kind) {
+        boolean[] failed = new boolean[orders.size()];
+        result.getFailures().forEach(failure -> failed[failure.getIndex()] = true);
+        for (int i = 0; i < orders.size(); i++) {
+            if (!failed[i]) {
+                Orders order = orders.get(i);
+                ChangeBus.publish(kind == ChangeEvent.Kind.INSERTED
+                        ? ChangeEvent.inserted(Orders.class, order.getOrder_id(), order)
+                        : ChangeEvent.updated(Orders.class, order.getOrder_id(), order));
+            }
+        }
+    }
+
+    /**
+     * Runs a write in its own transaction, rolling it back if it fails.
+     *
+     * @param operation the name of the operation, for the log
+     * @param write the write to run
+     * @return true if the write was committed
+     */
+    private boolean inTransaction(String operation, OrderWrite write) {
+        try (Connection connection = ConnectionFactory.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                boolean written = write.write(connection);
+                connection.commit();
+                return written;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
         } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, "Error deleting record from orders" , e);
+            LOGGER.log(Level.WARNING, "OrderDAO:" + operation + " " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes orders in chunks of the batch size, one transaction per chunk.
+     * A failing chunk is rolled back and its orders are written again one per transaction,
+     * so only the failing orders are reported.
+     *
+     * @param operation the name of the operation, for the log
+     * @param orders the orders to be written
+     * @param write writes a chunk of orders
+     * @return the outcome of the batch
+     */
+    private BatchResult<Orders> writeInChunks(String operation, List<Orders> orders, ChunkWrite write) {
+        BatchResult<Orders> result = new BatchResult<>();
+        if (orders.isEmpty()) {
+            return result;
         }
+        int resolved = 0;
+        try (Connection connection = ConnectionFactory.getConnection()) {
+            connection.setAutoCommit(false);
+            for (int from = 0; from < orders.size(); from += getBatchSize()) {
+                int to = Math.min(from + getBatchSize(), orders.size());
+                try {
+                    write.write(connection, orders.subList(from, to));
+                    connection.commit();
+                    result.addSucceeded(to - from);
+                    resolved = to;
+                } catch (SQLException e) {
+                    connection.rollback();
+                    for (int i = from; i < to; i++) {
+                        try {
+                            write.write(connection, List.of(orders.get(i)));
+                            connection.commit();
+                            result.addSucceeded(1);
+                        } catch (SQLException rowException) {
+                            connection.rollback();
+                            LOGGER.log(Level.WARNING, "OrderDAO:" + operation + " row " + i + " " + rowException.getMessage());
+                            result.addFailure(i, orders.get(i), rowException.getMessage());
+                        }
+                        resolved = i + 1;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "OrderDAO:" + operation + " " + e.getMessage());
+            failUnrecorded(result, orders, resolved, String.valueOf(e.getMessage()));
+        }
+        return result;
+    }
+
+    /**
+     * A write of orders that runs on the connection of a transaction.
+     */
+    @FunctionalInterface
+    private interface OrderWrite {
+        boolean write(Connection connection) throws SQLException;
+    }
+
+    /**
+     * A write of a chunk of orders that runs on the connection of a transaction.
+     */
+    @FunctionalInterface
+    private interface ChunkWrite {
+        void write(Connection connection, List<Orders> orders) throws SQLException;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,266 @@
+package dataAcessLayer;
+
+import connection.ConnectionFactory;
+import model.Orders;
+import model.Product;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The OrderWriter class places orders asynchronously and writes them to the database in groups.
+ * Submitted orders wait in a bounded queue; a single writer thread drains the queue and places each group
+ * in one transaction: the quantity of every order is taken out of its product's stock with a conditional UPDATE,
+ * and the orders that got their stock are inserted with one batched statement, so many orders share one commit.
+ * A group is written as soon as it reaches the maximum batch size or the oldest order in it
+ * has waited the maximum delay, whichever comes first.
+ * When the queue is full, submitting blocks until the writer catches up.
+ * Once the group is committed, the inserted orders and the changed products are published on the {@link ChangeBus},
+ * from where they also reach the change log.
+ */
+public class OrderWriter implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(OrderWriter.class.getName());
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    /**
+     * The default number of orders the queue can hold.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    /**
+     * The default maximum number of orders written in one transaction.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+    /**
+     * The default maximum time, in milliseconds, an order waits for its group to be written.
+     */
+    public static final long DEFAULT_MAX_DELAY_MS = 5;
+
+    private final OrderDAO orderDAO = new OrderDAO();
+    private final ProductDAO productDAO = new ProductDAO();
+    private final BlockingQueue<PendingOrder> queue;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Thread writerThread;
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    /**
+     * Creates a writer with the default queue capacity, batch size and delay.
+     */
+    public OrderWriter() {
+        this(DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_MS);
+    }
+
+    /**
+     * Creates a writer and starts its writer thread.
+     *
+     * @param queueCapacity the number of orders that can wait to be written
+     * @param maxBatchSize the maximum number of orders written in one transaction
+     * @param maxDelayMillis the maximum time an order waits before its group is written
+     */
+    public OrderWriter(int queueCapacity, int maxBatchSize, long maxDelayMillis) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.writerThread = new Thread(this::run, "order-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues an order to be placed, blocking while the queue is full.
+     * If the order has no date, the current date is used.
+     * An order accepted here is always completed: {@link #close()} waits for it to be written.
+     *
+     * @param order the order to be placed
+     * @return a future completed with true once the order is committed, the order then carrying its generated id,
+     * with false if its product does not have enough stock, in which case nothing was written,
+     * or completed exceptionally if it could not be written
+     * @throws InterruptedException if interrupted while waiting for room in the queue
+     * @throws IllegalStateException if the writer is closed
+     */
+    public CompletableFuture<Boolean> submit(Orders order) throws InterruptedException {
+        if (order.getOrder_date() == null) {
+            order.setOrder_date(new Date());
+        }
+        PendingOrder pending = new PendingOrder(order);
+        closeLock.readLock().lock();
+        try {
+            do {
+                if (!running) {
+                    throw new IllegalStateException("OrderWriter is closed");
+                }
+            } while (!queue.offer(pending, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return pending.future;
+    }
+
+    /**
+     * Stops accepting orders, writes everything still queued and stops the writer thread.
+     * Orders the writer thread could not write, because it was interrupted, are completed exceptionally.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        IllegalStateException closed = new IllegalStateException("OrderWriter is closed");
+        for (PendingOrder pending = queue.poll(); pending != null; pending = queue.poll()) {
+            pending.future.completeExceptionally(closed);
+        }
+    }
+
+    /**
+     * The writer loop: waits for a first order, gathers a group behind it and writes the group.
+     */
+    private void run() {
+        List<PendingOrder> group = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (group.size() < maxBatchSize) {
+                    if (queue.drainTo(group, maxBatchSize - group.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                write(group);
+            } catch (InterruptedException e) {
+                running = false;
+                group.forEach(pending -> pending.future.completeExceptionally(e));
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "OrderWriter: unexpected error", e);
+                group.forEach(pending -> pending.future.completeExceptionally(e));
+            }
+            group.clear();
+        }
+    }
+
+    /**
+     * Places a group of orders in one transaction.
+     * If the group fails, it is rolled back and its orders are placed one per transaction, so only the failing orders
+     * are completed exceptionally.
+     *
+     * @param group the orders to be placed
+     */
+    private void write(List<PendingOrder> group) {
+        try (Connection connection = ConnectionFactory.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                place(connection, group);
+                connection.commit();
+                completeAll(group);
+                return;
+            } catch (SQLException e) {
+                connection.rollback();
+                LOGGER.log(Level.WARNING, "OrderWriter: group of " + group.size() + " failed, retrying one by one " + e.getMessage());
+            }
+            for (PendingOrder pending : group) {
+                try {
+                    place(connection, List.of(pending));
+                    connection.commit();
+                    completeAll(List.of(pending));
+                } catch (SQLException e) {
+                    connection.rollback();
+                    pending.future.completeExceptionally(e);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "OrderWriter:write " + e.getMessage());
+            group.forEach(pending -> pending.future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Takes the stock of every order out of its product and inserts the orders that got it,
+     * as part of the caller's transaction. Each order records whether it got its stock.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param group the orders to be placed
+     * @throws SQLException if a database access error occurs
+     */
+    private void place(Connection connection, List<PendingOrder> group) throws SQLException {
+        List<Orders> placed = new ArrayList<>(group.size());
+        for (PendingOrder pending : group) {
+            pending.placed = productDAO.decrementStock(connection, pending.order.getProduct_id(), pending.order.getQuantity());
+            if (pending.placed) {
+                placed.add(pending.order);
+            }
+        }
+        if (!placed.isEmpty()) {
+            orderDAO.insertOrders(connection, placed);
+        }
+    }
+
+    /**
+     * Publishes the changes of a committed group and completes its futures.
+     *
+     * @param group the orders of the group
+     */
+    private static void completeAll(List<PendingOrder> group) {
+        Set<Integer> products = new LinkedHashSet<>();
+        for (PendingOrder pending : group) {
+            if (pending.placed) {
+                products.add(pending.order.getProduct_id());
+                ChangeBus.publish(ChangeEvent.inserted(Orders.class, pending.order.getOrder_id(), pending.order));
+            }
+        }
+        for (int productId : products) {
+            ProductDAO.getCache().invalidate(productId);
+            ChangeBus.publish(ChangeEvent.updated(Product.class, productId, null));
+        }
+        for (PendingOrder pending : group) {
+            pending.future.complete(pending.placed);
+        }
+    }
+
+    /**
+     * The PendingOrder class pairs a queued order with the future of its completion.
+     */
+    private static final class PendingOrder {
+        private final Orders order;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private boolean placed;
+
+        private PendingOrder(Orders order) {
+            this.order = order;
+        }
+    }
+}
@@ -1,15 +1,66 @@
 package dataAcessLayer;
 
 import connection.ConnectionFactory;
+import connection.OperationMetrics;
 import model.Product;
 import java.sql.*;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 import java.util.logging.Level;
 /**
  * The ProductDAO class provides data access object implementation for Product objects.
  * It includes methods for common database operations such as insert, update, delete, and find.
+ * Every successful write publishes a {@link ChangeEvent} on the {@link ChangeBus}.
  */
-public class ProductDAO extends AbstractDAO<Product> {
+public class ProductDAO extends AbstractDAO<Product> implements BatchWriter<Product> {
+
+    private static final EntityCache<Product> CACHE = new EntityCache<>(10_000, 10 * 60_000);
+    private static final OperationMetrics DECREMENT_STOCK_METRICS = DaoMetrics.forOperation(Product.class, "decrementStock");
+    private static final SearchIndex<Product> SEARCH_INDEX = new SearchIndex<>(Product::getProduct_id, Product::getName, Product::getDescription);
+
+    /**
+     * Gets the product cache shared by every ProductDAO, for example to read its hit and miss counters.
+     *
+     * @return the product cache
+     */
+    public static EntityCache<Product> getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Gets the search index over the name and description of every product, shared by every ProductDAO.
+     *
+     * @return the product search index
+     */
+    public static SearchIndex<Product> getSearchIndex() {
+        return SEARCH_INDEX;
+    }
+
+    /**
+     * Finds the products whose name and description contain words starting with the words of the query.
+     * Answered from the in-memory search index, which is loaded from the database on first use.
+     *
+     * @param query the typed text
+     * @param limit the maximum number of products returned
+     * @return the matching products
+     */
+    public List<Product> searchProducts(String query, int limit) {
+        SEARCH_INDEX.ensureLoaded(super::streamAll);
+        return SEARCH_INDEX.search(query, limit);
+    }
+
+    /**
+     * Retrieves a product by its id, answering from the cache when possible.
+     * The product returned is shared with the cache and must not be changed.
+     *
+     * @param id the id of the product
+     * @return the product, or null if it does not exist
+     */
+    public Product getProductById(int id) {
+        return CACHE.get(id, key -> super.findById(key, "product"));
+    }
+
     /**
      * Retrieves all products from the database.
      *
@@ -19,24 +70,88 @@ public class ProductDAO extends AbstractDAO<Product> {
         return super.findAll();
     }
 
+    /**
+     * Retrieves the page of products that follows the given id, ordered by id.
+     *
+     * @param afterId the id of the last product on the previous page, or 0 for the first page
+     * @param pageSize the maximum number of products to return
+     * @return the products of the page
+     */
+    public List<Product> getProductsPage(int afterId, int pageSize) {
+        return super.findPage(afterId, pageSize);
+    }
+
     /**
      * Inserts a new product into the database.
+     * The generated id is stored back into the product.
      *
      * @param product the product to be inserted
      */
     public void insertProduct(Product product) {
         String query = "INSERT INTO product (name, description, price, stock_quantity) VALUES (?, ?, ?, ?)";
-        super.insert(product, query, product.getName(), product.getDescription(), product.getPrice(), product.getStock_quantity());
+        int id = super.insert(product, query, product.getName(), product.getDescription(), product.getPrice(), product.getStock_quantity());
+        if (id > 0) {
+            product.setProduct_id(id);
+            SEARCH_INDEX.put(product);
+            ChangeBus.publish(ChangeEvent.inserted(Product.class, id, product));
+        }
+    }
+
+    /**
+     * Updates a product in the database, unless it was changed since it was read, for example by an order taking stock.
+     * The version is checked and incremented by the UPDATE itself, so no lock is held while the user edits.
+     * A conflict is published as a change made elsewhere, so that open views show the stored product.
+     *
+     * @param product the product to be updated, with the version it was read with
+     * @return the outcome of the update; on success the product carries its new version
+     */
+    public UpdateResult<Product> updateProduct(Product product) {
+        String query = "UPDATE product SET name = ?, description = ?, price = ?, stock_quantity = ?, version = version + 1 WHERE product_id = ? AND version = ?";
+        UpdateResult<Product> result = super.compareAndSet(product, product.getProduct_id(), query, product.getName(), product.getDescription(),
+                product.getPrice(), product.getStock_quantity(), product.getProduct_id(), product.getVersion());
+        CACHE.invalidate(product.getProduct_id());
+        if (result.isSuccessful()) {
+            product.setVersion(product.getVersion() + 1);
+            SEARCH_INDEX.put(product);
+            ChangeBus.publish(ChangeEvent.updated(Product.class, product.getProduct_id(), product));
+        } else if (result.getStatus() == UpdateResult.Status.CONFLICT) {
+            SEARCH_INDEX.put(result.getEntity());
+            ChangeBus.publish(ChangeEvent.updated(Product.class, product.getProduct_id(), result.getEntity()).asRemote(result.getEntity()));
+        }
+        return result;
     }
 
     /**
-     * Updates a product in the database.
+     * Updates a product and, if it was changed since it was read, re-reads it and merges the edit into it.
+     * An edit of the name or price therefore survives a concurrent stock change, while two different stock
+     * quantities are reported as a conflict instead of one overwriting the other.
      *
-     * @param product the product to be updated
+     * @param original the product as it was read
+     * @param edited the edited product; its version is taken from the original
+     * @return the outcome of the update; a conflict lists the fields changed on both sides
      */
-    public void updateProduct(Product product) {
-        String query = "UPDATE product SET name = ?, description = ?, price = ?, stock_quantity = ? WHERE product_id = ?";
-        super.update(product, query, product.getName(), product.getDescription(), product.getPrice(), product.getStock_quantity(), product.getProduct_id());
+    public UpdateResult<Product> updateProduct(Product original, Product edited) {
+        edited.setVersion(original.getVersion());
+        return super.updateMerging(original, edited, this::updateProduct, ProductDAO::merge);
+    }
+
+    /**
+     * Merges an edit of a product into the product as stored now.
+     *
+     * @param base the product the edit started from
+     * @param mine the edited product
+     * @param theirs the product as stored now
+     * @param fields collects the fields changed on both sides
+     * @return the merged product, with the stored version
+     */
+    private static Product merge(Product base, Product mine, Product theirs, FieldMerge fields) {
+        Product merged = new Product(theirs.getProduct_id(),
+                fields.pick("name", base.getName(), mine.getName(), theirs.getName()),
+                fields.pick("description", base.getDescription(), mine.getDescription(), theirs.getDescription()),
+                fields.pick("price", base.getPrice(), mine.getPrice(), theirs.getPrice()),
+                fields.pick("stock_quantity", base.getStock_quantity(), mine.getStock_quantity(), theirs.getStock_quantity()));
+        merged.setVersion(theirs.getVersion());
+        return merged;
     }
 
     /**
@@ -45,24 +160,193 @@ public class ProductDAO extends AbstractDAO<Product> {
      * @param product the product to be deleted
      */
     public void delete(Product product) {
-        super.delete(product.getProduct_id(), "product");
+        boolean deleted = super.delete(product.getProduct_id(), "product");
+        CACHE.invalidate(product.getProduct_id());
+        if (deleted) {
+            SEARCH_INDEX.remove(product.getProduct_id());
+            ChangeBus.publish(ChangeEvent.deleted(Product.class, product.getProduct_id()));
+        }
     }
 
     /**
-     * Updates the stock quantity of a product in the database.
+     * Deletes several products in one transaction: either all of them are deleted or none.
+     * Products that no longer exist are skipped, and change events are published only for the products deleted.
      *
-     * @param selectedProduct the product to be updated
-     * @param newStockQuantity the new stock quantity
+     * @param ids the ids of the products
+     * @return the number of products deleted, or -1 if none could be deleted
      */
-    public void updateProductStock(Product selectedProduct, int newStockQuantity) {
-        String query = "UPDATE product SET stock_quantity = ? WHERE product_id = ?";
-        try (Connection connection = ConnectionFactory.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setInt(1, newStockQuantity);
-            statement.setInt(2, selectedProduct.getProduct_id());
-            statement.executeUpdate();
+    public int deleteProducts(int[] ids) {
+        List<Product> deleted = super.deleteExistingByIds(ids);
+        for (int id : ids) {
+            CACHE.invalidate(id);
+        }
+        if (deleted == null) {
+            return -1;
+        }
+        for (Product product : deleted) {
+            SEARCH_INDEX.remove(product.getProduct_id());
+            ChangeBus.publish(ChangeEvent.deleted(Product.class, product.getProduct_id()));
+        }
+        return deleted.size();
+    }
+
+    /**
+     * Sets the same values on several products in one transaction: either all of them are updated or none.
+     * The updated products are read back with one query to refresh the search index and the change events.
+     *
+     * @param ids the ids of the products
+     * @param values the new value of each changed column, by column name
+     * @return the number of products updated, or -1 if none could be updated
+     */
+    public int updateProducts(int[] ids, Map<String, Object> values) {
+        int updated = super.updateByIds(ids, values);
+        for (int id : ids) {
+            CACHE.invalidate(id);
+        }
+        if (updated > 0) {
+            for (Product product : super.findByIds(ids)) {
+                SEARCH_INDEX.put(product);
+                ChangeBus.publish(ChangeEvent.updated(Product.class, product.getProduct_id(), product));
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Inserts many products using batched statements.
+     * The ids of the new products are not read back, so the search index is reloaded on its next use.
+     *
+     * @param products the products to be inserted
+     * @return the outcome of the batch, including the products that could not be inserted
+     */
+    @Override
+    public BatchResult<Product> insertAll(List<Product> products) {
+        BatchResult<Product> result = insertAllUnannounced(products);
+        if (result.getSucceeded() > 0) {
+            announceBulkInsert();
+        }
+        return result;
+    }
+
+    /**
+     * Inserts many products using batched statements, without marking the search index stale or publishing a change.
+     * Meant for imports that write many batches: they call {@link #announceBulkInsert()} once at the end,
+     * so open views reload once instead of once per batch. Each batch records an invalidation in the change log,
+     * which the other instances apply once per poll.
+     *
+     * @param products the products to be inserted
+     * @return the outcome of the batch, including the products that could not be inserted
+     */
+    public BatchResult<Product> insertAllUnannounced(List<Product> products) {
+        String query = "INSERT INTO product (name, description, price, stock_quantity) VALUES (?, ?, ?, ?)";
+        return super.executeBatch(query, products, p -> new Object[]{p.getName(), p.getDescription(), p.getPrice(), p.getStock_quantity()},
+                (connection, written) -> recordChange(connection, ChangeEvent.Kind.INVALIDATED));
+    }
+
+    /**
+     * Marks the search index stale and publishes, in this instance, that products were inserted whose ids are not known.
+     */
+    public void announceBulkInsert() {
+        SEARCH_INDEX.markStale();
+        ChangeBus.publish(ChangeEvent.invalidated(Product.class));
+    }
+
+    /**
+     * Updates many products using batched statements.
+     * The rows are overwritten whatever their version, and their versions are incremented.
+     * The rows written are read back, so the index and the published changes carry their new versions.
+     *
+     * @param products the products to be updated
+     * @return the outcome of the batch, including the products that could not be updated
+     */
+    @Override
+    public BatchResult<Product> updateAll(List<Product> products) {
+        String query = "UPDATE product SET name = ?, description = ?, price = ?, stock_quantity = ?, version = version + 1 WHERE product_id = ?";
+        BatchResult<Product> result = super.executeBatch(query, products, p -> new Object[]{p.getName(), p.getDescription(), p.getPrice(), p.getStock_quantity(), p.getProduct_id()},
+                (connection, written) -> recordChange(connection, ChangeEvent.Kind.UPDATED, written.stream().mapToInt(Product::getProduct_id).toArray()));
+        products.forEach(product -> CACHE.invalidate(product.getProduct_id()));
+        reindex(products, result);
+        return result;
+    }
+
+    /**
+     * Reads back the products a batch update wrote, puts them into the search index and publishes their changes.
+     *
+     * @param products the products of the batch
+     * @param result the outcome of the batch
+     */
+    private void reindex(List<Product> products, BatchResult<Product> result) {
+        boolean[] failed = new boolean[products.size()];
+        result.getFailures().forEach(failure -> failed[failure.getIndex()] = true);
+        int[] written = IntStream.range(0, products.size()).filter(i -> !failed[i]).map(i -> products.get(i).getProduct_id()).toArray();
+        if (written.length == 0) {
+            return;
+        }
+        for (Product stored : super.findByIds(written)) {
+            SEARCH_INDEX.put(stored);
+            ChangeBus.publish(ChangeEvent.updated(Product.class, stored.getProduct_id(), stored));
+        }
+    }
+
+    /**
+     * Takes the given quantity out of a product's stock, but only if enough stock is left.
+     * The check and the decrement are a single conditional UPDATE, so concurrent callers cannot oversell
+     * and only the product row is locked, until the caller's transaction ends.
+     * The caller should invalidate the cached product once the transaction is committed.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param productId the id of the product
+     * @param quantity the quantity to take out of stock
+     * @return true if the stock was decremented, false if there was not enough stock
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean decrementStock(Connection connection, int productId, int quantity) throws SQLException {
+        String query = "UPDATE product SET stock_quantity = stock_quantity - ?, version = version + 1 WHERE product_id = ? AND stock_quantity >= ?";
+        SqlCall call = SqlCall.start(DECREMENT_STOCK_METRICS, query);
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setInt(1, quantity);
+            statement.setInt(2, productId);
+            statement.setInt(3, quantity);
+            int rows = statement.executeUpdate();
+            call.succeeded(rows);
+            if (rows == 1) {
+                recordChange(connection, ChangeEvent.Kind.UPDATED, productId);
+            }
+            return rows == 1;
         } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, "ProductDAO:updateProductStock " + e.getMessage());
+            call.failed();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the given amounts to the stock of several products with one batched statement, in one transaction:
+     * either every amount is added or none, so a failed call can be repeated without adding any amount twice.
+     * The change is relative, so stock updates made concurrently by other writers are not overwritten.
+     *
+     * @param deltas the amount to add to the stock of each product, by product id; negative amounts take stock out
+     * @throws SQLException if a database access error occurs; nothing was written then
+     */
+    public void adjustStock(Map<Integer, Integer> deltas) throws SQLException {
+        String query = "UPDATE product SET stock_quantity = stock_quantity + ?, version = version + 1 WHERE product_id = ?";
+        try (Connection connection = ConnectionFactory.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                for (Map.Entry<Integer, Integer> delta : deltas.entrySet()) {
+                    statement.setInt(1, delta.getValue());
+                    statement.setInt(2, delta.getKey());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                recordChange(connection, ChangeEvent.Kind.UPDATED, deltas.keySet().stream().mapToInt(Integer::intValue).toArray());
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } finally {
+            deltas.keySet().forEach(CACHE::invalidate);
         }
+        deltas.keySet().forEach(productId -> ChangeBus.publish(ChangeEvent.updated(Product.class, productId, null)));
     }
-}
\ No newline at end of file
+}
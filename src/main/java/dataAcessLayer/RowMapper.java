@@ -0,0 +1,211 @@
+package dataAcessLayer;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The RowMapper class turns ResultSet rows into entity objects.
+ * The constructor and setters of the entity are introspected once per type and kept as method handles,
+ * and the columns are looked up by index, so mapping a row does no reflection and no label lookups.
+ * One mapper is shared by every DAO of the same entity type.
+ *
+ * @param <T> the type of the entity
+ */
+public final class RowMapper<T> {
+
+    private static final ClassValue<RowMapper<?>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected RowMapper<?> computeValue(Class<?> type) {
+            return new RowMapper<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final String[] columnNames;
+    private final ColumnSetter[] setters;
+
+    /**
+     * Returns the shared mapper for the given entity type, building it on first use.
+     *
+     * @param type the entity class
+     * @param <T> the type of the entity
+     * @return the mapper for the type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> forType(Class<T> type) {
+        return (RowMapper<T>) MAPPERS.get(type);
+    }
+
+    /**
+     * Introspects the entity type once: its no-argument constructor and a setter for every declared field.
+     *
+     * @param type the entity class
+     */
+    private RowMapper(Class<T> type) {
+        this.type = type;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            List<String> names = new ArrayList<>();
+            List<ColumnSetter> columnSetters = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                PropertyDescriptor propertyDescriptor = new PropertyDescriptor(field.getName(), type);
+                MethodHandle setter = lookup.unreflect(propertyDescriptor.getWriteMethod());
+                names.add(field.getName());
+                columnSetters.add(columnSetter(field.getType(), setter));
+            }
+            this.columnNames = names.toArray(new String[0]);
+            this.setters = columnSetters.toArray(new ColumnSetter[0]);
+        } catch (NoSuchMethodException | IllegalAccessException | IntrospectionException e) {
+            throw new IllegalStateException("Cannot build a row mapper for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Checks whether the entity has a field mapped to the given column.
+     *
+     * @param column the column name
+     * @return true if a field is mapped to the column
+     */
+    public boolean hasColumn(String column) {
+        for (String columnName : columnNames) {
+            if (columnName.equalsIgnoreCase(column)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves the column index of every mapped field in the given result set.
+     * Should be called once per result set and the returned array passed to {@link #map(ResultSet, int[])}.
+     *
+     * @param metaData the metadata of the result set
+     * @return the column index of each mapped field
+     * @throws SQLException if a field has no matching column
+     */
+    public int[] resolveColumns(ResultSetMetaData metaData) throws SQLException {
+        Map<String, Integer> indexByLabel = new HashMap<>();
+        for (int i = metaData.getColumnCount(); i >= 1; i--) {
+            indexByLabel.put(metaData.getColumnLabel(i).toLowerCase(), i);
+        }
+        int[] columns = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            Integer index = indexByLabel.get(columnNames[i].toLowerCase());
+            if (index == null) {
+                throw new SQLException("Column '" + columnNames[i] + "' not found for " + type.getSimpleName());
+            }
+            columns[i] = index;
+        }
+        return columns;
+    }
+
+    /**
+     * Creates an entity from the current row of the result set.
+     *
+     * @param resultSet the result set positioned on a row
+     * @param columns the column indexes returned by {@link #resolveColumns(ResultSetMetaData)}
+     * @return the created entity
+     * @throws SQLException if a database access error occurs or the entity cannot be built
+     */
+    @SuppressWarnings("unchecked")
+    public T map(ResultSet resultSet, int[] columns) throws SQLException {
+        try {
+            Object instance = constructor.invokeExact();
+            for (int i = 0; i < setters.length; i++) {
+                setters[i].set(instance, resultSet, columns[i]);
+            }
+            return (T) instance;
+        } catch (SQLException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SQLException("Error creating object from ResultSet for " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Builds the setter for one field, reading the column with the getter matching the field type
+     * so that primitive columns are not boxed.
+     *
+     * @param fieldType the type of the field
+     * @param setter the setter method handle
+     * @return the column setter
+     */
+    private static ColumnSetter columnSetter(Class<?> fieldType, MethodHandle setter) {
+        if (fieldType == int.class) {
+            MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, int.class));
+            return (target, resultSet, column) -> {
+                int value = resultSet.getInt(column);
+                if (!resultSet.wasNull()) {
+                    handle.invokeExact(target, value);
+                }
+            };
+        }
+        if (fieldType == long.class) {
+            MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, long.class));
+            return (target, resultSet, column) -> {
+                long value = resultSet.getLong(column);
+                if (!resultSet.wasNull()) {
+                    handle.invokeExact(target, value);
+                }
+            };
+        }
+        if (fieldType == double.class) {
+            MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, double.class));
+            return (target, resultSet, column) -> {
+                double value = resultSet.getDouble(column);
+                if (!resultSet.wasNull()) {
+                    handle.invokeExact(target, value);
+                }
+            };
+        }
+        MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        if (fieldType == String.class) {
+            return (target, resultSet, column) -> {
+                String value = resultSet.getString(column);
+                if (value != null) {
+                    handle.invokeExact(target, (Object) value);
+                }
+            };
+        }
+        if (fieldType == java.util.Date.class) {
+            return (target, resultSet, column) -> {
+                java.sql.Date value = resultSet.getDate(column);
+                if (value != null) {
+                    handle.invokeExact(target, (Object) value);
+                }
+            };
+        }
+        return (target, resultSet, column) -> {
+            Object value = resultSet.getObject(column, fieldType);
+            if (value != null) {
+                handle.invokeExact(target, value);
+            }
+        };
+    }
+
+    /**
+     * Reads one column of the current row and stores it in the matching field of the target.
+     */
+    @FunctionalInterface
+    private interface ColumnSetter {
+        void set(Object target, ResultSet resultSet, int column) throws Throwable;
+    }
+}
@@ -0,0 +1,244 @@
+package dataAcessLayer;
+
+import connection.ConnectionFactory;
+import connection.OperationMetrics;
+import model.Orders;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The SalesSummary class maintains the sales_summary table, which holds the number of orders and the units sold
+ * of every product on every day.
+ * The OrderDAO applies the change of every order insert, update and delete to the summary in the same transaction,
+ * so the date-range reports read a few summary rows per day instead of scanning the orders.
+ * Orders do not record the price they were placed at, so the reports compute the revenue from the units sold
+ * and the current price of the product; the summary only holds counts, which an insert and a later delete
+ * of the same order always cancel exactly, and {@link #rebuild()} recomputes the whole table from the orders.
+ */
+public final class SalesSummary {
+
+    /**
+     * The number of days of orders recomputed by each parallel task of a rebuild.
+     */
+    public static final int REBUILD_CHUNK_DAYS = 31;
+
+    private static final Logger LOGGER = Logger.getLogger(SalesSummary.class.getName());
+
+    private static final String UPSERT = "INSERT INTO sales_summary (order_date, product_id, order_count, units_sold) "
+            + "VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+            + "units_sold = units_sold + VALUES(units_sold)";
+    private static final OperationMetrics UPSERT_METRICS = DaoMetrics.forOperation(SalesSummary.class, "upsert");
+    private static final String DELETE_EMPTY = "DELETE FROM sales_summary WHERE order_date = ? AND product_id = ? AND order_count <= 0";
+
+    private SalesSummary() {
+    }
+
+    /**
+     * Adds orders to the summary as part of the caller's transaction.
+     * Orders of the same day and product are combined into one change.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param orders the orders that were inserted
+     * @throws SQLException if a database access error occurs
+     */
+    static void add(Connection connection, List<Orders> orders) throws SQLException {
+        apply(connection, orders, 1);
+    }
+
+    /**
+     * Removes orders from the summary as part of the caller's transaction.
+     * Summary rows left without orders are deleted.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param orders the orders, with the values they had in the database, that were deleted or changed
+     * @throws SQLException if a database access error occurs
+     */
+    static void remove(Connection connection, List<Orders> orders) throws SQLException {
+        List<Key> changed = apply(connection, orders, -1);
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_EMPTY)) {
+            for (Key key : changed) {
+                statement.setObject(1, key.day);
+                statement.setInt(2, key.productId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Applies the orders to the summary with the given sign.
+     *
+     * @param connection the connection of the caller's transaction
+     * @param orders the orders
+     * @param sign 1 to add the orders, -1 to remove them
+     * @return the summary rows changed
+     * @throws SQLException if a database access error occurs
+     */
+    private static List<Key> apply(Connection connection, List<Orders> orders, int sign) throws SQLException {
+        Map<Key, int[]> deltas = new LinkedHashMap<>();
+        for (Orders order : orders) {
+            if (order.getOrder_date() == null) {
+                continue;
+            }
+            int[] delta = deltas.computeIfAbsent(new Key(toSqlDate(order.getOrder_date()), order.getProduct_id()), key -> new int[2]);
+            delta[0] += sign;
+            delta[1] += sign * order.getQuantity();
+        }
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+        SqlCall call = SqlCall.start(UPSERT_METRICS, UPSERT);
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+            for (Map.Entry<Key, int[]> delta : deltas.entrySet()) {
+                statement.setObject(1, delta.getKey().day);
+                statement.setInt(2, delta.getKey().productId);
+                statement.setInt(3, delta.getValue()[0]);
+                statement.setInt(4, delta.getValue()[1]);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            call.succeeded(deltas.size());
+        } catch (SQLException e) {
+            call.failed();
+            throw e;
+        }
+        return new ArrayList<>(deltas.keySet());
+    }
+
+    /**
+     * Recomputes the whole summary from the orders table.
+     * The range of order dates is split into chunks of {@link #REBUILD_CHUNK_DAYS} days that are recomputed
+     * in parallel, each in its own transaction; chunks never share a summary row, so they do not contend.
+     *
+     * @return the number of summary rows written
+     * @throws SQLException if a database access error occurs
+     */
+    public static long rebuild() throws SQLException {
+        LocalDate first;
+        LocalDate last;
+        try (Connection connection = ConnectionFactory.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT MIN(order_date), MAX(order_date) FROM orders");
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            java.sql.Date min = resultSet.getDate(1);
+            java.sql.Date max = resultSet.getDate(2);
+            try (PreparedStatement delete = connection.prepareStatement(min == null
+                    ? "DELETE FROM sales_summary"
+                    : "DELETE FROM sales_summary WHERE order_date < ? OR order_date > ?")) {
+                if (min != null) {
+                    delete.setDate(1, min);
+                    delete.setDate(2, max);
+                }
+                delete.executeUpdate();
+            }
+            if (min == null) {
+                return 0;
+            }
+            first = min.toLocalDate();
+            last = max.toLocalDate();
+        }
+        List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+        for (LocalDate from = first; !from.isAfter(last); from = from.plusDays(REBUILD_CHUNK_DAYS)) {
+            LocalDate chunkFrom = from;
+            LocalDate chunkTo = from.plusDays(REBUILD_CHUNK_DAYS - 1L).isAfter(last) ? last : from.plusDays(REBUILD_CHUNK_DAYS - 1L);
+            chunks.add(AsyncDAO.supply(() -> {
+                try {
+                    return rebuildChunk(java.sql.Date.valueOf(chunkFrom), java.sql.Date.valueOf(chunkTo));
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            }));
+        }
+        long rows = 0;
+        try {
+            for (CompletableFuture<Integer> chunk : chunks) {
+                rows += chunk.join();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw e;
+        }
+        return rows;
+    }
+
+    /**
+     * Recomputes the summary rows of a range of days in one transaction.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @return the number of summary rows written
+     * @throws SQLException if a database access error occurs
+     */
+    private static int rebuildChunk(java.sql.Date from, java.sql.Date to) throws SQLException {
+        try (Connection connection = ConnectionFactory.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM sales_summary WHERE order_date BETWEEN ? AND ?");
+                 PreparedStatement insert = connection.prepareStatement(
+                         "INSERT INTO sales_summary (order_date, product_id, order_count, units_sold) "
+                                 + "SELECT order_date, product_id, COUNT(*), SUM(quantity) FROM orders "
+                                 + "WHERE order_date BETWEEN ? AND ? GROUP BY order_date, product_id")) {
+                delete.setDate(1, from);
+                delete.setDate(2, to);
+                delete.executeUpdate();
+                insert.setDate(1, from);
+                insert.setDate(2, to);
+                int rows = insert.executeUpdate();
+                connection.commit();
+                return rows;
+            } catch (SQLException e) {
+                connection.rollback();
+                LOGGER.log(Level.WARNING, "SalesSummary:rebuildChunk " + from + " " + e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Converts an order date to the day stored in the summary.
+     *
+     * @param date the order date
+     * @return the day as an SQL date
+     */
+    private static java.sql.Date toSqlDate(Date date) {
+        return date instanceof java.sql.Date sqlDate ? sqlDate : new java.sql.Date(date.getTime());
+    }
+
+    /**
+     * The Key class identifies one summary row: a day and a product.
+     */
+    private static final class Key {
+        private final java.sql.Date day;
+        private final int productId;
+
+        private Key(java.sql.Date day, int productId) {
+            this.day = java.sql.Date.valueOf(day.toLocalDate());
+            this.productId = productId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && key.productId == productId && key.day.equals(day);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, productId);
+        }
+    }
+}
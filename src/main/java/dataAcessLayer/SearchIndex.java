@@ -0,0 +1,305 @@
+package dataAcessLayer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * The SearchIndex class is an in-memory prefix index over some text fields of an entity, for type-ahead search.
+ * Every field is split into lower-case words, and the words are kept in a sorted map from word to entity ids,
+ * so the words starting with a typed prefix are one contiguous range of the map.
+ * A query matches an entity when every word of the query is a prefix of one of the entity's words,
+ * in any field and any order, for example "ann pop" matches "Popescu Ana-Maria &lt;ann@mail.com&gt;".
+ * Searches never lock and never touch the database; the owning DAO keeps the index current on writes.
+ * A reload builds a complete new index and then swaps it in, so searches running meanwhile see the old content
+ * instead of an empty or half-built index.
+ *
+ * @param <T> the type of the indexed entities
+ */
+public class SearchIndex<T> {
+
+    private final ToIntFunction<T> idOf;
+    private final List<Function<T, String>> fields;
+    private final AtomicLong staleGeneration = new AtomicLong();
+    private volatile Content<T> content = new Content<>();
+    private volatile long loadedGeneration = -1;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param idOf extracts the id of an entity
+     * @param fields extract the indexed text fields of an entity
+     */
+    @SafeVarargs
+    public SearchIndex(ToIntFunction<T> idOf, Function<T, String>... fields) {
+        this.idOf = idOf;
+        List<Function<T, String>> fieldList = new ArrayList<>(fields.length);
+        for (Function<T, String> field : fields) {
+            fieldList.add(field);
+        }
+        this.fields = List.copyOf(fieldList);
+    }
+
+    /**
+     * Returns the entities matching a query, at most the given number.
+     * Candidates are taken from the longest word of the query, in alphabetical order of the matching word,
+     * and checked against the other words; the scan stops as soon as enough entities are found.
+     *
+     * @param query the typed text
+     * @param limit the maximum number of entities returned
+     * @return the matching entities, empty if the query has no words
+     */
+    public List<T> search(String query, int limit) {
+        String[] queryWords = words(query);
+        if (queryWords.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        String pivot = queryWords[0];
+        for (String word : queryWords) {
+            if (word.length() > pivot.length()) {
+                pivot = word;
+            }
+        }
+        Content<T> current = content;
+        Set<Integer> seen = new LinkedHashSet<>();
+        List<T> matches = new ArrayList<>(Math.min(limit, 64));
+        for (Set<Integer> ids : current.prefixRange(pivot).values()) {
+            for (Integer id : ids) {
+                if (!seen.add(id)) {
+                    continue;
+                }
+                String[] entityWords = current.wordsById.get(id);
+                T entity = current.entities.get(id);
+                if (entity != null && entityWords != null && matchesAll(entityWords, queryWords)) {
+                    matches.add(entity);
+                    if (matches.size() == limit) {
+                        return matches;
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Adds an entity to the index, or replaces the indexed version of it.
+     *
+     * @param entity the entity
+     */
+    public synchronized void put(T entity) {
+        int id = idOf.applyAsInt(entity);
+        content.unindex(id);
+        content.index(id, entity, words(entity));
+    }
+
+    /**
+     * Removes an entity from the index.
+     *
+     * @param id the id of the entity
+     */
+    public synchronized void remove(int id) {
+        content.unindex(id);
+    }
+
+    /**
+     * Replaces the whole content of the index.
+     * The new content is built aside and swapped in once complete.
+     * If the index is marked stale while the source is read, it stays stale; marks made before
+     * the stream was opened are only reliably covered by {@link #ensureLoaded(Supplier)}.
+     *
+     * @param source the entities to index; the stream is consumed but not closed
+     */
+    public synchronized void reload(Stream<T> source) {
+        reload(source, staleGeneration.get());
+    }
+
+    /**
+     * Replaces the whole content of the index and records which stale marks it covers.
+     *
+     * @param source the entities to index; the stream is consumed but not closed
+     * @param generation the stale generation read before the source was opened
+     */
+    private void reload(Stream<T> source, long generation) {
+        Content<T> built = new Content<>();
+        source.forEach(entity -> built.index(idOf.applyAsInt(entity), entity, words(entity)));
+        content = built;
+        loadedGeneration = generation;
+    }
+
+    /**
+     * Loads the index if it has not been loaded yet or was marked stale.
+     *
+     * @param source opens a stream of all entities; the stream is closed after loading
+     */
+    public synchronized void ensureLoaded(Supplier<Stream<T>> source) {
+        long generation = staleGeneration.get();
+        if (loadedGeneration == generation) {
+            return;
+        }
+        try (Stream<T> entitiesToIndex = source.get()) {
+            reload(entitiesToIndex, generation);
+        }
+    }
+
+    /**
+     * Marks the index as out of date, for example after a bulk insert whose ids are not known,
+     * so that the next {@link #ensureLoaded(Supplier)} reloads it.
+     * A reload already in progress does not clear the mark, since it may have read the data before the change.
+     */
+    public void markStale() {
+        staleGeneration.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of indexed entities.
+     *
+     * @return the number of entities
+     */
+    public int size() {
+        return content.entities.size();
+    }
+
+    /**
+     * Checks that every query word is a prefix of one of the entity's words.
+     *
+     * @param entityWords the words of the entity
+     * @param queryWords the words of the query
+     * @return true if the entity matches the query
+     */
+    private static boolean matchesAll(String[] entityWords, String[] queryWords) {
+        for (String queryWord : queryWords) {
+            boolean found = false;
+            for (String entityWord : entityWords) {
+                if (entityWord.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits the indexed fields of an entity into distinct words.
+     * A field made of several groups of digits, such as a phone number, is also indexed as all its digits together.
+     *
+     * @param entity the entity
+     * @return the words of the entity
+     */
+    private String[] words(T entity) {
+        Set<String> entityWords = new LinkedHashSet<>();
+        for (Function<T, String> field : fields) {
+            String value = field.apply(entity);
+            if (value != null) {
+                String[] valueWords = words(value);
+                entityWords.addAll(List.of(valueWords));
+                if (valueWords.length > 1) {
+                    StringBuilder digits = new StringBuilder(value.length());
+                    for (int i = 0; i < value.length(); i++) {
+                        if (Character.isDigit(value.charAt(i))) {
+                            digits.append(value.charAt(i));
+                        }
+                    }
+                    if (digits.length() >= 3) {
+                        entityWords.add(digits.toString());
+                    }
+                }
+            }
+        }
+        return entityWords.toArray(new String[0]);
+    }
+
+    /**
+     * Splits a text into lower-case words of letters and digits.
+     *
+     * @param text the text
+     * @return the words, in order
+     */
+    private static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        List<String> result = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                result.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return result.toArray(new String[0]);
+    }
+
+    /**
+     * The Content class holds the maps of one version of the index.
+     * Entries are changed in place by puts and removes; a reload replaces the whole content.
+     *
+     * @param <T> the type of the indexed entities
+     */
+    private static final class Content<T> {
+        private final ConcurrentSkipListMap<String, Set<Integer>> idsByWord = new ConcurrentSkipListMap<>();
+        private final Map<Integer, T> entities = new ConcurrentHashMap<>();
+        private final Map<Integer, String[]> wordsById = new ConcurrentHashMap<>();
+
+        /**
+         * Adds the words of an entity.
+         *
+         * @param id the id of the entity
+         * @param entity the entity
+         * @param entityWords the words of the entity
+         */
+        private void index(int id, T entity, String[] entityWords) {
+            entities.put(id, entity);
+            wordsById.put(id, entityWords);
+            for (String word : entityWords) {
+                idsByWord.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        /**
+         * Removes the words of an entity.
+         *
+         * @param id the id of the entity
+         */
+        private void unindex(int id) {
+            entities.remove(id);
+            String[] oldWords = wordsById.remove(id);
+            if (oldWords == null) {
+                return;
+            }
+            for (String word : oldWords) {
+                idsByWord.computeIfPresent(word, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        /**
+         * Gets the words that start with a prefix.
+         *
+         * @param prefix the prefix
+         * @return the range of the index holding those words
+         */
+        private ConcurrentNavigableMap<String, Set<Integer>> prefixRange(String prefix) {
+            return idsByWord.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dataAcessLayer;
+
+import connection.OperationMetrics;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * The SqlCall class measures one DAO operation from start to finish.
+ * The duration is read from the clock once and goes to the metrics of the operation, to a {@link SqlExecutionEvent}
+ * when Java Flight Recorder is recording, and to the log as a warning when it exceeds the slow-query threshold.
+ * The threshold is set in milliseconds with the dao.slowQueryMillis system property.
+ */
+final class SqlCall {
+
+    private static final Logger LOGGER = Logger.getLogger(SqlCall.class.getName());
+    private static final long SLOW_QUERY_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("dao.slowQueryMillis", 1_000));
+
+    private final OperationMetrics metrics;
+    private final String sql;
+    private final SqlExecutionEvent event = new SqlExecutionEvent();
+    private final long start;
+
+    private SqlCall(OperationMetrics metrics, String sql) {
+        this.metrics = metrics;
+        this.sql = sql;
+        event.begin();
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Starts measuring an operation.
+     *
+     * @param metrics the metrics of the operation
+     * @param sql the statement of the operation
+     * @return the running call
+     */
+    static SqlCall start(OperationMetrics metrics, String sql) {
+        return new SqlCall(metrics, sql);
+    }
+
+    /**
+     * Ends a successful operation.
+     *
+     * @param rows the number of rows read or written
+     */
+    void succeeded(long rows) {
+        finish(rows, false);
+    }
+
+    /**
+     * Ends a failed operation.
+     */
+    void failed() {
+        finish(0, true);
+    }
+
+    /**
+     * Records the operation in the metrics, the flight recording and, if it was slow, the log.
+     *
+     * @param rows the number of rows read or written
+     * @param failed true if the operation failed
+     */
+    private void finish(long rows, boolean failed) {
+        long elapsed = System.nanoTime() - start;
+        if (failed) {
+            metrics.recordError(elapsed);
+        } else {
+            metrics.record(elapsed, rows);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            ActionContext action = ActionContext.current();
+            event.operation = metrics.getName();
+            event.sql = sql;
+            event.rows = rows;
+            event.failed = failed;
+            if (action != null) {
+                event.action = action.getName();
+                event.actionId = action.getId();
+            }
+            event.commit();
+        }
+        if (elapsed >= SLOW_QUERY_NANOS) {
+            ActionContext action = ActionContext.current();
+            LOGGER.warning("Slow " + metrics.getName() + " (" + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms, " + rows
+                    + " rows" + (action == null ? "" : ", action " + action) + "): " + sql);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package dataAcessLayer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The SqlExecutionEvent class is the Java Flight Recorder event of one DAO operation: the statement,
+ * its duration including the connection wait and the mapping of the rows, and the number of rows.
+ * The user action that triggered the operation, if any, links the event to its {@code presentation.UiAction} event.
+ * Only operations longer than the threshold are recorded; it can be changed in the recording settings.
+ */
+@Name("dataAcessLayer.SqlExecution")
+@Label("SQL Execution")
+@Category({"Order Management", "Database"})
+@Description("A statement run by a DAO")
+@Threshold("0 ms")
+public class SqlExecutionEvent extends Event {
+
+    @Label("Operation")
+    @Description("The entity type and DAO operation, for example Client.insert")
+    String operation;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Rows")
+    @Description("The number of rows read and mapped, or written")
+    long rows;
+
+    @Label("Failed")
+    boolean failed;
+
+    @Label("Action")
+    @Description("The user action that triggered the statement")
+    String action;
+
+    @Label("Action Id")
+    long actionId;
+}
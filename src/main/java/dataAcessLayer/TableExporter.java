@@ -0,0 +1,341 @@
+package dataAcessLayer;
+
+import connection.ConnectionFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The TableExporter class writes whole tables to CSV or JSON Lines files.
+ * Rows are read from a server-side cursor and encoded straight from the ResultSet into one reusable byte buffer,
+ * which is written to a FileChannel whenever it fills up; no entity objects or per-row strings are built for
+ * numeric columns, and memory use does not depend on the table size. The output can optionally be gzip compressed.
+ */
+public class TableExporter {
+
+    /**
+     * The tables that can be exported.
+     */
+    public static final List<String> TABLES = List.of("client", "product", "orders");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    /**
+     * Exports one table to a file.
+     *
+     * @param table the table to export, one of {@link #TABLES}
+     * @param target the file to write
+     * @param format the file format
+     * @param gzip whether to gzip the output
+     * @return the number of rows written
+     * @throws IOException if the file cannot be written
+     * @throws SQLException if the table cannot be read
+     */
+    public long export(String table, Path target, ExportFormat format, boolean gzip) throws IOException, SQLException {
+        if (!TABLES.contains(table)) {
+            throw new IllegalArgumentException("Unknown table " + table);
+        }
+        try (FileChannel file = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             WritableByteChannel channel = gzip ? Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(file), BUFFER_SIZE)) : file;
+             Connection connection = ConnectionFactory.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + table,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(AbstractDAO.STREAM_FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                RowEncoder encoder = new RowEncoder(channel, resultSet.getMetaData(), format);
+                return encoder.encodeAll(resultSet);
+            }
+        }
+    }
+
+    /**
+     * Exports every table in parallel, one file per table named after the table.
+     *
+     * @param directory the directory to write the files into
+     * @param format the file format
+     * @param gzip whether to gzip the output
+     * @return the number of rows written, by table
+     * @throws IOException if a file cannot be written
+     * @throws SQLException if a table cannot be read
+     */
+    public Map<String, Long> exportAll(Path directory, ExportFormat format, boolean gzip) throws IOException, SQLException {
+        Map<String, CompletableFuture<Long>> exports = new LinkedHashMap<>();
+        for (String table : TABLES) {
+            Path target = directory.resolve(table + "." + format.getExtension() + (gzip ? ".gz" : ""));
+            exports.put(table, AsyncDAO.supply(() -> {
+                try {
+                    return export(table, target, format, gzip);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            }));
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, CompletableFuture<Long>> export : exports.entrySet()) {
+                counts.put(export.getKey(), export.getValue().join());
+            }
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (cause instanceof SQLException sql) {
+                throw sql;
+            }
+            throw e;
+        }
+        return counts;
+    }
+
+    /**
+     * The RowEncoder class encodes the rows of one result set into the output channel.
+     */
+    private static final class RowEncoder {
+        private final WritableByteChannel channel;
+        private final ExportFormat format;
+        private final int columnCount;
+        private final boolean[] numeric;
+        private final byte[][] names;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        private RowEncoder(WritableByteChannel channel, ResultSetMetaData metaData, ExportFormat format) throws SQLException {
+            this.channel = channel;
+            this.format = format;
+            this.columnCount = metaData.getColumnCount();
+            this.numeric = new boolean[columnCount + 1];
+            this.names = new byte[columnCount + 1][];
+            for (int i = 1; i <= columnCount; i++) {
+                int type = metaData.getColumnType(i);
+                numeric[i] = type == Types.INTEGER || type == Types.BIGINT || type == Types.SMALLINT || type == Types.TINYINT;
+                names[i] = metaData.getColumnLabel(i).getBytes(java.nio.charset.StandardCharsets.UTF_8);
+            }
+        }
+
+        private long encodeAll(ResultSet resultSet) throws SQLException, IOException {
+            if (format == ExportFormat.CSV) {
+                for (int i = 1; i <= columnCount; i++) {
+                    if (i > 1) {
+                        put((byte) ',');
+                    }
+                    put(names[i]);
+                }
+                put((byte) '\n');
+            }
+            long rows = 0;
+            while (resultSet.next()) {
+                if (format == ExportFormat.CSV) {
+                    encodeCsv(resultSet);
+                } else {
+                    encodeJson(resultSet);
+                }
+                rows++;
+            }
+            drain();
+            return rows;
+        }
+
+        private void encodeCsv(ResultSet resultSet) throws SQLException, IOException {
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    put((byte) ',');
+                }
+                if (numeric[i]) {
+                    long value = resultSet.getLong(i);
+                    if (!resultSet.wasNull()) {
+                        putLong(value);
+                    }
+                } else {
+                    String value = resultSet.getString(i);
+                    if (value != null) {
+                        putCsvText(value);
+                    }
+                }
+            }
+            put((byte) '\n');
+        }
+
+        private void encodeJson(ResultSet resultSet) throws SQLException, IOException {
+            put((byte) '{');
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    put((byte) ',');
+                }
+                put((byte) '"');
+                put(names[i]);
+                put((byte) '"');
+                put((byte) ':');
+                if (numeric[i]) {
+                    long value = resultSet.getLong(i);
+                    if (resultSet.wasNull()) {
+                        put(NULL);
+                    } else {
+                        putLong(value);
+                    }
+                } else {
+                    String value = resultSet.getString(i);
+                    if (value == null) {
+                        put(NULL);
+                    } else {
+                        putJsonText(value);
+                    }
+                }
+            }
+            put((byte) '}');
+            put((byte) '\n');
+        }
+
+        private void putCsvText(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                putText(value);
+                return;
+            }
+            put((byte) '"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    put((byte) '"');
+                }
+                putChar(value, i);
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                    i++;
+                }
+            }
+            put((byte) '"');
+        }
+
+        private void putJsonText(String value) throws IOException {
+            put((byte) '"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> { put((byte) '\\'); put((byte) '"'); }
+                    case '\\' -> { put((byte) '\\'); put((byte) '\\'); }
+                    case '\n' -> { put((byte) '\\'); put((byte) 'n'); }
+                    case '\r' -> { put((byte) '\\'); put((byte) 'r'); }
+                    case '\t' -> { put((byte) '\\'); put((byte) 't'); }
+                    default -> {
+                        if (c < 0x20) {
+                            put((byte) '\\');
+                            put((byte) 'u');
+                            put((byte) '0');
+                            put((byte) '0');
+                            put((byte) Character.forDigit(c >> 4, 16));
+                            put((byte) Character.forDigit(c & 0xF, 16));
+                        } else {
+                            putChar(value, i);
+                            if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                                i++;
+                            }
+                        }
+                    }
+                }
+            }
+            put((byte) '"');
+        }
+
+        private void putText(String value) throws IOException {
+            for (int i = 0; i < value.length(); i++) {
+                putChar(value, i);
+                if (Character.isHighSurrogate(value.charAt(i)) && i + 1 < value.length()) {
+                    i++;
+                }
+            }
+        }
+
+        /**
+         * Encodes the character at the given index as UTF-8, combining it with the next one if they form a surrogate pair.
+         */
+        private void putChar(String value, int index) throws IOException {
+            char c = value.charAt(index);
+            if (c < 0x80) {
+                put((byte) c);
+            } else if (c < 0x800) {
+                put((byte) (0xC0 | (c >> 6)));
+                put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+                put((byte) (0xF0 | (codePoint >> 18)));
+                put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                put((byte) (0xE0 | (c >> 12)));
+                put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+
+        private void putLong(long value) throws IOException {
+            if (value == Long.MIN_VALUE) {
+                put(Long.toString(value).getBytes(java.nio.charset.StandardCharsets.US_ASCII));
+                return;
+            }
+            if (value < 0) {
+                put((byte) '-');
+                value = -value;
+            }
+            if (buffer.remaining() < 20) {
+                drain();
+            }
+            int start = buffer.position();
+            do {
+                buffer.put((byte) ('0' + value % 10));
+                value /= 10;
+            } while (value != 0);
+            for (int left = start, right = buffer.position() - 1; left < right; left++, right--) {
+                byte swap = buffer.get(left);
+                buffer.put(left, buffer.get(right));
+                buffer.put(right, swap);
+            }
+        }
+
+        private void put(byte value) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put(value);
+        }
+
+        private void put(byte[] values) throws IOException {
+            for (byte value : values) {
+                put(value);
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package dataAcessLayer;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The UpdateResult class reports the outcome of a versioned update.
+ * An update only writes the row if its version is still the one the entity was read with;
+ * otherwise the result is a conflict that carries the row as it is now stored, so the caller can show it or merge with it.
+ *
+ * @param <T> the type of the entity
+ */
+public final class UpdateResult<T> {
+
+    /**
+     * The Status enum describes how a versioned update ended.
+     */
+    public enum Status {
+        /**
+         * The row still had the expected version and was written.
+         */
+        UPDATED,
+        /**
+         * The row had been changed by someone else, but in other columns; the changes were merged and written.
+         */
+        MERGED,
+        /**
+         * The row had been changed by someone else and nothing was written.
+         */
+        CONFLICT,
+        /**
+         * The row no longer exists.
+         */
+        NOT_FOUND,
+        /**
+         * A database error occurred; nothing was written.
+         */
+        FAILED
+    }
+
+    private final Status status;
+    private final T entity;
+    private final List<String> conflictingColumns;
+
+    private UpdateResult(Status status, T entity, List<String> conflictingColumns) {
+        this.status = status;
+        this.entity = entity;
+        this.conflictingColumns = conflictingColumns;
+    }
+
+    static <T> UpdateResult<T> updated(T entity) {
+        return new UpdateResult<>(Status.UPDATED, entity, List.of());
+    }
+
+    static <T> UpdateResult<T> merged(T entity) {
+        return new UpdateResult<>(Status.MERGED, entity, List.of());
+    }
+
+    static <T> UpdateResult<T> conflict(T current, List<String> conflictingColumns) {
+        return new UpdateResult<>(Status.CONFLICT, current, List.copyOf(conflictingColumns));
+    }
+
+    static <T> UpdateResult<T> notFound() {
+        return new UpdateResult<>(Status.NOT_FOUND, null, List.of());
+    }
+
+    static <T> UpdateResult<T> failed() {
+        return new UpdateResult<>(Status.FAILED, null, List.of());
+    }
+
+    /**
+     * Gets how the update ended.
+     *
+     * @return the status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks whether the row was written, with or without a merge.
+     *
+     * @return true if the status is {@link Status#UPDATED} or {@link Status#MERGED}
+     */
+    public boolean isSuccessful() {
+        return status == Status.UPDATED || status == Status.MERGED;
+    }
+
+    /**
+     * Gets the entity: as written, with its new version, if the update succeeded,
+     * or as currently stored if there was a conflict.
+     *
+     * @return the entity, or null if the row does not exist or the update failed
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    /**
+     * Gets the columns that both the caller and someone else changed to different values.
+     *
+     * @return the conflicting column names; empty unless a merge was attempted and failed
+     */
+    public List<String> getConflictingColumns() {
+        return Collections.unmodifiableList(conflictingColumns);
+    }
+
+    @Override
+    public String toString() {
+        return "UpdateResult{status=" + status + ", conflictingColumns=" + conflictingColumns + '}';
+    }
+}
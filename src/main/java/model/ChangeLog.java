@@ -0,0 +1,69 @@
+package model;
+
+/**
+ * The ChangeLog class is one entry of the change log shared by every application instance.
+ * It holds the sequence number of the change, the name of the changed entity type, the id of the entity,
+ * the kind of change and the id of the application instance that wrote it.
+ */
+public class ChangeLog {
+    private long changelog_id;
+    private String entity;
+    private int entity_id;
+    private String kind;
+    private String instance_id;
+
+    public ChangeLog() {
+    }
+
+    public ChangeLog(String entity, int entity_id, String kind, String instance_id) {
+        this.entity = entity;
+        this.entity_id = entity_id;
+        this.kind = kind;
+        this.instance_id = instance_id;
+    }
+
+    public long getChangelog_id() {
+        return changelog_id;
+    }
+
+    public void setChangelog_id(long changelog_id) {
+        this.changelog_id = changelog_id;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public int getEntity_id() {
+        return entity_id;
+    }
+
+    public void setEntity_id(int entity_id) {
+        this.entity_id = entity_id;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getInstance_id() {
+        return instance_id;
+    }
+
+    public void setInstance_id(String instance_id) {
+        this.instance_id = instance_id;
+    }
+
+    @Override
+    public String toString() {
+        return changelog_id + " " + kind + " " + entity + " " + entity_id;
+    }
+}
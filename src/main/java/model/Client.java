@@ -3,6 +3,7 @@ package model;
  * The Client class represents a client in the system.
  * It holds information about the client such as their id, name, email, phone number, and address.
  * This class is used to create and manipulate Client objects.
+ * The version is checked and incremented by every update, so an edit made from a stale copy is rejected instead of overwriting newer data.
  */
 public class Client {
 
@@ -11,6 +12,7 @@ public class Client {
     private String email;
     private String phone_number;
     private String address;
+    private int version;
 
     public Client () {
     }
@@ -62,6 +64,14 @@ public class Client {
     public void setAddress(String address) {
         this.address = address;
     }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
     @Override
     public String toString() {
         return this.name;
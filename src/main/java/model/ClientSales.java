@@ -0,0 +1,64 @@
+package model;
+
+/**
+ * The ClientSales class is one row of a sales report grouped by client.
+ * It holds the client id and name, the number of orders, the number of units bought and the revenue of the client.
+ */
+public class ClientSales {
+    private int client_id;
+    private String name;
+    private int order_count;
+    private long units_sold;
+    private double revenue;
+
+    public ClientSales() {
+    }
+
+    public ClientSales(int client_id, String name, int order_count, long units_sold, double revenue) {
+        this.client_id = client_id;
+        this.name = name;
+        this.order_count = order_count;
+        this.units_sold = units_sold;
+        this.revenue = revenue;
+    }
+
+    public int getClient_id() {
+        return client_id;
+    }
+
+    public void setClient_id(int client_id) {
+        this.client_id = client_id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getOrder_count() {
+        return order_count;
+    }
+
+    public void setOrder_count(int order_count) {
+        this.order_count = order_count;
+    }
+
+    public long getUnits_sold() {
+        return units_sold;
+    }
+
+    public void setUnits_sold(long units_sold) {
+        this.units_sold = units_sold;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
@@ -0,0 +1,55 @@
+package model;
+
+import java.util.Date;
+/**
+ * The DailySales class is one row of a sales report grouped by day.
+ * It holds the day, the number of orders, the number of units sold and the revenue of the day.
+ */
+public class DailySales {
+    private Date order_date;
+    private int order_count;
+    private long units_sold;
+    private double revenue;
+
+    public DailySales() {
+    }
+
+    public DailySales(Date order_date, int order_count, long units_sold, double revenue) {
+        this.order_date = order_date;
+        this.order_count = order_count;
+        this.units_sold = units_sold;
+        this.revenue = revenue;
+    }
+
+    public Date getOrder_date() {
+        return order_date;
+    }
+
+    public void setOrder_date(Date order_date) {
+        this.order_date = order_date;
+    }
+
+    public int getOrder_count() {
+        return order_count;
+    }
+
+    public void setOrder_count(int order_count) {
+        this.order_count = order_count;
+    }
+
+    public long getUnits_sold() {
+        return units_sold;
+    }
+
+    public void setUnits_sold(long units_sold) {
+        this.units_sold = units_sold;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
@@ -0,0 +1,114 @@
+package model;
+
+import java.util.Date;
+/**
+ * The OrderDetails class is an order as shown to the user: the order together with the name of its client
+ * and the name and price of its product, read with a single joined query.
+ * The total is the quantity times the price of the product, and the version is the version of the order.
+ */
+public class OrderDetails {
+    private int order_id;
+    private int client_id;
+    private String client_name;
+    private int product_id;
+    private String product_name;
+    private double price;
+    private int quantity;
+    private Date order_date;
+    private double total;
+    private int version;
+
+    public OrderDetails() {
+    }
+
+    public int getOrder_id() {
+        return order_id;
+    }
+
+    public void setOrder_id(int order_id) {
+        this.order_id = order_id;
+    }
+
+    public int getClient_id() {
+        return client_id;
+    }
+
+    public void setClient_id(int client_id) {
+        this.client_id = client_id;
+    }
+
+    public String getClient_name() {
+        return client_name;
+    }
+
+    public void setClient_name(String client_name) {
+        this.client_name = client_name;
+    }
+
+    public int getProduct_id() {
+        return product_id;
+    }
+
+    public void setProduct_id(int product_id) {
+        this.product_id = product_id;
+    }
+
+    public String getProduct_name() {
+        return product_name;
+    }
+
+    public void setProduct_name(String product_name) {
+        this.product_name = product_name;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public Date getOrder_date() {
+        return order_date;
+    }
+
+    public void setOrder_date(Date order_date) {
+        this.order_date = order_date;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public void setTotal(double total) {
+        this.total = total;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Gets the order itself, without the joined client and product details.
+     *
+     * @return the order
+     */
+    public Orders toOrders() {
+        Orders orders = new Orders(order_id, client_id, product_id, quantity, order_date);
+        orders.setVersion(version);
+        return orders;
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Date;
 /**
  * The Orders class represents an order in the database.
  * It includes fields for the order id, client id, product id, quantity, and order date.
+ * The version is incremented on every update of the order.
  */
 public class Orders {
     private int order_id;
@@ -11,6 +12,7 @@ public class Orders {
     private int product_id;
     private int quantity;
     private Date order_date;
+    private int version;
 
     public Orders() {
     }
@@ -63,6 +65,14 @@ public class Orders {
     public void setOrder_date(Date order_date) {
         this.order_date = order_date;
     }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
     @Override
     public String toString(){
         return "Orders{" +
@@ -71,6 +81,7 @@ public class Orders {
                 ", product_id=" + product_id +
                 ", quantity=" + quantity +
                 ", order_date=" + order_date +
+                ", version=" + version +
                 '}';
     }
 }
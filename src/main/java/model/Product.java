@@ -3,6 +3,7 @@ package model;
  * The Product class represents a product in the system.
  * It holds information about the product such as its id, name, description, price, and stock quantity.
  * This class is used to create and manipulate Product objects.
+ * Its version is incremented whenever the row is written, stock changes included.
  */
 public class Product {
     private int product_id;
@@ -10,6 +11,7 @@ public class Product {
     private String description;
     private double price;
     private int stock_quantity;
+    private int version;
 
     public Product() {}
 
@@ -61,6 +63,14 @@ public class Product {
         this.stock_quantity = stock_quantity;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return this.name;
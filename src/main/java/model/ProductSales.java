@@ -0,0 +1,64 @@
+package model;
+
+/**
+ * The ProductSales class is one row of a sales report grouped by product.
+ * It holds the product id and name, the number of orders, the number of units sold and the revenue of the product.
+ */
+public class ProductSales {
+    private int product_id;
+    private String name;
+    private int order_count;
+    private long units_sold;
+    private double revenue;
+
+    public ProductSales() {
+    }
+
+    public ProductSales(int product_id, String name, int order_count, long units_sold, double revenue) {
+        this.product_id = product_id;
+        this.name = name;
+        this.order_count = order_count;
+        this.units_sold = units_sold;
+        this.revenue = revenue;
+    }
+
+    public int getProduct_id() {
+        return product_id;
+    }
+
+    public void setProduct_id(int product_id) {
+        this.product_id = product_id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getOrder_count() {
+        return order_count;
+    }
+
+    public void setOrder_count(int order_count) {
+        this.order_count = order_count;
+    }
+
+    public long getUnits_sold() {
+        return units_sold;
+    }
+
+    public void setUnits_sold(long units_sold) {
+        this.units_sold = units_sold;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
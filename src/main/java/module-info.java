@@ -3,6 +3,8 @@ module java{
     requires javafx.fxml;
     requires java.sql;
     requires java.desktop;
+    requires java.management;
+    requires jdk.jfr;
 
     opens presentation to javafx.fxml;
     exports presentation;
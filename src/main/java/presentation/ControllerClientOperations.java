@@ -1,30 +1,30 @@
 package presentation;
 
 import businessLayer.ClientBLL;
+import businessLayer.CsvImporter;
 import dataAcessLayer.ClientDAO;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
 import model.Client;
-import java.io.IOException;
 import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 /**
  * The ControllerClientOperations class is a controller for the client operations view.
  * It includes methods for initializing the view, handling button actions, and changing scenes.
  */
-public class ControllerClientOperations implements Initializable {
+public class ControllerClientOperations implements Initializable, Refreshable {
     @FXML
     private Button goBackButton;
     @FXML
+    private Label importStatusLabel;
+    @FXML
     private TableView<Client> tableClients;
     @FXML
     private TableColumn<Client, Integer> clientIdTableColumn;
@@ -44,7 +44,7 @@ public class ControllerClientOperations implements Initializable {
     private TextField editAddressField;
     @FXML
     private TextField editEmailField;
-    private ObservableList<Client> clientList;
+    private TablePager<Client> clientPager;
 
     /**
      * Changes the scene to the specified fxml file.
@@ -53,22 +53,7 @@ public class ControllerClientOperations implements Initializable {
      * @param title the title of the new scene
      */
     public void changeScene(String fxml, String title) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxml));
-            Parent root = loader.load();
-
-            Stage stage = (Stage) goBackButton.getScene().getWindow();
-
-            Scene scene = new Scene(root);
-            stage.setScene(scene);
-            stage.setTitle(title);
-
-            stage.show();
-        } catch (IOException e) {
-            System.err.println("Error loading scene: " + e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        SceneManager.show((Stage) goBackButton.getScene().getWindow(), fxml, title);
     }
 
     /**
@@ -95,24 +80,48 @@ public class ControllerClientOperations implements Initializable {
         emailTableColumn.setCellValueFactory(new PropertyValueFactory<>("email"));
         phoneNoTableColumn.setCellValueFactory(new PropertyValueFactory<>("phone_number"));
         addressTableColumn.setCellValueFactory(new PropertyValueFactory<>("address"));
+        tableClients.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        ClientDAO clientDAO = new ClientDAO();
+        clientPager = TablePager.attach(tableClients, clientDAO::getClientsPage, Client::getClient_id);
+        clientPager.follow(Client.class, event -> event.getEntity() != null ? event.getEntity() : clientDAO.getClientById(event.getId()));
+        fetchClientFromDatabase();
+    }
+
+    /**
+     * Reloads the clients when the screen is shown again.
+     */
+    @Override
+    public void refresh() {
         fetchClientFromDatabase();
     }
 
     /**
-     * Fetches all clients from the database and updates the client list.
+     * Reloads the clients table from the first page; further pages are fetched as the user scrolls.
+     * Afterwards, changes to clients are applied to the loaded rows as they are published.
      */
     private void fetchClientFromDatabase() {
-        ClientDAO clientDAO = new ClientDAO();
-        clientList = FXCollections.observableArrayList(clientDAO.getAllClients());
-        tableClients.setItems(clientList);
+        clientPager.reset();
     }
 
     /**
      * Handles the action of the update client button.
      * It updates the selected client's information in the database.
+     * If several clients are selected, the filled-in fields are written to all of them at once.
      */
     @FXML
     void updateClientButtonOnAction() {
+        UiTrace.run("ControllerClientOperations.updateClient", this::updateClient);
+    }
+
+    /**
+     * Does the work of {@link #updateClientButtonOnAction()}.
+     */
+    private void updateClient() {
+        List<Client> selectedClients = List.copyOf(tableClients.getSelectionModel().getSelectedItems());
+        if (selectedClients.size() > 1) {
+            updateClients(selectedClients);
+            return;
+        }
         Client selectedClient = tableClients.getSelectionModel().getSelectedItem();
         if (selectedClient != null) {
             String updatedName = editNameField.getText().trim();
@@ -129,11 +138,12 @@ public class ControllerClientOperations implements Initializable {
                 try {
                     new ClientBLL().validate(updatedClient);
                     ClientDAO clientDAO = new ClientDAO();
-                    clientDAO.updateClient(updatedClient);
-                    fetchClientFromDatabase();
-                    clearEditFields();
-
-                    System.out.println("Client Update success");
+                    FxAsync.call(tableClients, () -> clientDAO.updateClient(selectedClient, updatedClient), result -> {
+                        if (UpdateResultAlert.check(result, "client")) {
+                            clearEditFields();
+                            System.out.println("Client Update success");
+                        }
+                    });
                 } catch (IllegalArgumentException e) {
                     showAlert("Validation Error", e.getMessage());
                 }
@@ -145,6 +155,63 @@ public class ControllerClientOperations implements Initializable {
         }
     }
 
+    /**
+     * Writes the filled-in edit fields to every selected client in one statement.
+     * Every client is validated with the new values before anything is written.
+     *
+     * @param selectedClients the selected clients
+     */
+    private void updateClients(List<Client> selectedClients) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        putIfNotEmpty(values, "name", editNameField);
+        putIfNotEmpty(values, "email", editEmailField);
+        putIfNotEmpty(values, "phone_number", editPhoneField);
+        putIfNotEmpty(values, "address", editAddressField);
+        if (values.isEmpty()) {
+            showAlert("No Changes", "No changes made to update.");
+            return;
+        }
+        try {
+            ClientBLL clientBLL = new ClientBLL();
+            for (Client client : selectedClients) {
+                clientBLL.validate(new Client(client.getClient_id(),
+                        (String) values.getOrDefault("name", client.getName()),
+                        (String) values.getOrDefault("email", client.getEmail()),
+                        (String) values.getOrDefault("phone_number", client.getPhone_number()),
+                        (String) values.getOrDefault("address", client.getAddress())));
+            }
+        } catch (IllegalArgumentException e) {
+            showAlert("Validation Error", e.getMessage());
+            return;
+        }
+        int[] ids = selectedClients.stream().mapToInt(Client::getClient_id).toArray();
+        ClientDAO clientDAO = new ClientDAO();
+        FxAsync.call(tableClients, () -> clientDAO.updateClients(ids, values), updated -> {
+            if (updated < 0) {
+                showAlert("Update Failed", "The clients could not be updated.");
+            } else {
+                clearEditFields();
+                if (updated < ids.length) {
+                    showAlert("Partially Updated", (ids.length - updated) + " of the selected clients no longer existed.");
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds the trimmed text of a field to the column values, unless it is empty.
+     *
+     * @param values the column values
+     * @param column the column name
+     * @param field the edit field
+     */
+    private static void putIfNotEmpty(Map<String, Object> values, String column, TextField field) {
+        String text = field.getText().trim();
+        if (!text.isEmpty()) {
+            values.put(column, text);
+        }
+    }
+
     /**
      * Clears the edit fields.
      */
@@ -162,6 +229,13 @@ public class ControllerClientOperations implements Initializable {
      */
     @FXML
     void addClientButtonOnAction() {
+        UiTrace.run("ControllerClientOperations.addClient", this::addClient);
+    }
+
+    /**
+     * Does the work of {@link #addClientButtonOnAction()}.
+     */
+    private void addClient() {
         if (areFieldsEmpty()) {
             showAlert("Empty Fields", "Please fill all the fields before adding a client.");
             return;
@@ -176,11 +250,10 @@ public class ControllerClientOperations implements Initializable {
         try {
             new ClientBLL().validate(client);
             ClientDAO clientDAO = new ClientDAO();
-            clientDAO.insertClient(client);
-            fetchClientFromDatabase();
-            clearEditFields();
-
-            System.out.println("Client Insertion success");
+            FxAsync.run(tableClients, () -> clientDAO.insertClient(client), () -> {
+                clearEditFields();
+                System.out.println("Client Insertion success");
+            });
         } catch (IllegalArgumentException e) {
             showAlert("Validation Error", e.getMessage());
         }
@@ -188,23 +261,42 @@ public class ControllerClientOperations implements Initializable {
 
     /**
      * Handles the action of the delete client button.
-     * It deletes the selected client from the database.
+     * It deletes the selected clients from the database in one transaction.
      */
     @FXML
     void deleteClientButtonOnAction() {
-        Client selectedClient = tableClients.getSelectionModel().getSelectedItem();
+        UiTrace.run("ControllerClientOperations.deleteClient", this::deleteClient);
+    }
 
-        if (selectedClient != null) {
-            ClientDAO clientDAO = new ClientDAO();
-            clientDAO.delete(selectedClient);
-            fetchClientFromDatabase();
+    /**
+     * Does the work of {@link #deleteClientButtonOnAction()}.
+     */
+    private void deleteClient() {
+        int[] ids = tableClients.getSelectionModel().getSelectedItems().stream().mapToInt(Client::getClient_id).toArray();
 
-            System.out.println("Client Delete success");
+        if (ids.length > 0) {
+            ClientDAO clientDAO = new ClientDAO();
+            FxAsync.call(tableClients, () -> clientDAO.deleteClients(ids), deleted -> {
+                if (deleted <= 0) {
+                    showAlert("Delete Failed", "The selected clients could not be deleted.");
+                } else if (deleted < ids.length) {
+                    showAlert("Partially Deleted", (ids.length - deleted) + " of the selected clients no longer existed.");
+                }
+            });
         } else {
             showAlert("Select Client", "Please select a client to delete.");
         }
     }
 
+    /**
+     * Handles the action of the import CSV button.
+     * It imports clients in bulk from a CSV file chosen by the user.
+     */
+    @FXML
+    void importClientsButtonOnAction() {
+        CsvImportAction.run(tableClients, importStatusLabel, "Import clients", CsvImporter.forClients());
+    }
+
     /**
      * Checks if the edit fields are empty.
      *
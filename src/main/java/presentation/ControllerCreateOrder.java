@@ -1,14 +1,10 @@
 package presentation;
 
+import businessLayer.InventoryLedger;
+import businessLayer.OrderPlacementService;
 import dataAcessLayer.ClientDAO;
-import dataAcessLayer.OrderDAO;
 import dataAcessLayer.ProductDAO;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
@@ -17,9 +13,7 @@ import javafx.stage.Stage;
 import model.Client;
 import model.Orders;
 import model.Product;
-import java.io.IOException;
 import java.util.Date;
-import java.util.List;
 
 /**
  * The ControllerCreateOrder class is a controller for the create order view.
@@ -37,6 +31,8 @@ public class ControllerCreateOrder {
     @FXML
     private Button goBackButton;
 
+    private final OrderPlacementService orderPlacementService = new OrderPlacementService();
+
     /**
      * The ControllerCreateOrder class is a controller for the create order view.
      * It includes methods for initializing the view, handling button actions, and changing scenes.
@@ -48,31 +44,39 @@ public class ControllerCreateOrder {
     }
 
     /**
-     * Populates the client combo box with all clients from the database.
+     * Makes the client combo box search clients by name, email or phone number as the user types.
      */
     private void populateClients() {
         ClientDAO clientDAO = new ClientDAO();
-        List<Client> clients = clientDAO.getAllClients();
-        ObservableList<Client> observableList = FXCollections.observableArrayList(clients);
-        clientComboBox.setItems(observableList);
+        clientComboBox.setPromptText("Type a name, email or phone...");
+        SearchComboBox.install(clientComboBox, clientDAO::searchClients);
     }
 
     /**
-     * Populates the product combo box with all products from the database.
+     * Makes the product combo box search products by name or description as the user types.
      */
     private void populateProducts() {
         ProductDAO productDAO = new ProductDAO();
-        List<Product> products = productDAO.getAllProducts();
-        ObservableList<Product> observableList = FXCollections.observableArrayList(products);
-        productComboBox.setItems(observableList);
+        productComboBox.setPromptText("Type a product name...");
+        SearchComboBox.install(productComboBox, productDAO::searchProducts);
     }
 
     /**
      * Handles the action of the finalize order button.
      * It finalizes the order based on the selected client, product, and quantity.
+     * The stock check is done by the database when the order is placed, not against the loaded product.
+     * The stock left is shown from the inventory ledger; the selected product is shared with the search index
+     * and the caches, so it is not changed here.
      */
     @FXML
     public void finalizeOrderButtonOnAction() {
+        UiTrace.run("ControllerCreateOrder.finalizeOrder", this::finalizeOrder);
+    }
+
+    /**
+     * Does the work of {@link #finalizeOrderButtonOnAction()}.
+     */
+    private void finalizeOrder() {
         if (clientComboBox.getValue() == null || productComboBox.getValue() == null || quantityField.getText().trim().isEmpty()) {
             errorLabel.setText("Please select both a client and a product and enter a quantity");
             return;
@@ -99,25 +103,21 @@ public class ControllerCreateOrder {
             return;
         }
 
-        if (selectedProduct.getStock_quantity() < desiredQuantity || selectedProduct.getStock_quantity() == 0) {
-            errorLabel.setText("Not enough stock or the quantity is not correct");
-            return;
-        }
-        ProductDAO productDAO = new ProductDAO();
-        productDAO.updateProductStock(selectedProduct, selectedProduct.getStock_quantity() - desiredQuantity);
-        createOrder();
-        errorLabel.setText("Order finalized");
-    }
-
-    private void createOrder() {
-        Orders orders = new Orders();
-        orders.setClient_id(clientComboBox.getValue().getClient_id());
-        orders.setProduct_id(productComboBox.getValue().getProduct_id());
-        orders.setQuantity(Integer.parseInt(quantityField.getText()));
-        orders.setOrder_date(new Date());
-
-        OrderDAO orderDAO = new OrderDAO();
-        orderDAO.insertOrder(orders);
+        Orders order = new Orders();
+        order.setClient_id(selectedClient.getClient_id());
+        order.setProduct_id(selectedProduct.getProduct_id());
+        order.setQuantity(desiredQuantity);
+        order.setOrder_date(new Date());
+
+        errorLabel.setText("Placing order...");
+        FxAsync.call(quantityField, () -> orderPlacementService.placeOrder(order), result -> {
+            switch (result) {
+                case PLACED -> errorLabel.setText("Order finalized, " + InventoryLedger.getInstance().available(selectedProduct.getProduct_id())
+                        + " " + selectedProduct.getName() + " left in stock");
+                case OUT_OF_STOCK -> errorLabel.setText("Not enough stock or the quantity is not correct");
+                case FAILED -> errorLabel.setText("The order could not be saved, please try again");
+            }
+        });
     }
 
     /**
@@ -127,20 +127,7 @@ public class ControllerCreateOrder {
      * @param title the title of the stage
      */
     public void changeScene(String fxml, String title) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/" + fxml));
-            Parent root = loader.load();
-
-            Stage stage = (Stage) goBackButton.getScene().getWindow();
-
-            Scene scene = new Scene(root);
-            stage.setScene(scene);
-            stage.setTitle(title);
-
-            stage.show();
-        } catch (IOException e) {
-            System.err.println("Error loading scene: " + e.getMessage());
-        }
+        SceneManager.show((Stage) goBackButton.getScene().getWindow(), fxml, title);
     }
 
     /**
@@ -1,12 +1,19 @@
 package presentation;
 
+import dataAcessLayer.ExportFormat;
+import dataAcessLayer.TableExporter;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Label;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.Stage;
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.util.Map;
 /**
  * The ControllerIntro class is a controller for the intro view.
  * It includes methods for handling button actions and changing scenes.
@@ -14,6 +21,26 @@ import java.io.IOException;
 public class ControllerIntro {
     @FXML
     private Button clientOperationsButton;
+    @FXML
+    private ChoiceBox<ExportFormat> exportFormatChoiceBox;
+    @FXML
+    private CheckBox exportGzipCheckBox;
+    @FXML
+    private Button exportButton;
+    @FXML
+    private Label exportStatusLabel;
+
+    private final TableExporter tableExporter = new TableExporter();
+
+    /**
+     * Initializes the controller class. This method is automatically called after the fxml file has been loaded.
+     * It fills the export format choice box.
+     */
+    @FXML
+    public void initialize() {
+        exportFormatChoiceBox.getItems().setAll(ExportFormat.values());
+        exportFormatChoiceBox.setValue(ExportFormat.CSV);
+    }
 
     /**
      * Handles the action of the client operations button.
@@ -42,6 +69,38 @@ public class ControllerIntro {
         changeScene("createProductOrder.fxml", "Create product order");
     }
 
+    /**
+     * Handles the action of the export button.
+     * It asks for a directory and exports the clients, products and orders tables into it in the background.
+     */
+    @FXML
+    public void exportButtonOnAction() {
+        DirectoryChooser directoryChooser = new DirectoryChooser();
+        directoryChooser.setTitle("Export tables to");
+        File directory = directoryChooser.showDialog(exportButton.getScene().getWindow());
+        if (directory == null) {
+            return;
+        }
+        ExportFormat format = exportFormatChoiceBox.getValue();
+        boolean gzip = exportGzipCheckBox.isSelected();
+        exportStatusLabel.setText("Exporting...");
+        FxAsync.call(exportButton, () -> {
+            try {
+                return tableExporter.exportAll(directory.toPath(), format, gzip);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }, counts -> {
+            StringBuilder status = new StringBuilder("Exported");
+            for (Map.Entry<String, Long> count : counts.entrySet()) {
+                status.append(' ').append(count.getValue()).append(' ').append(count.getKey()).append(" rows,");
+            }
+            exportStatusLabel.setText(status.substring(0, status.length() - 1));
+        });
+    }
+
     /**
      * Changes the scene to the specified fxml file and sets the title of the stage.
      *
@@ -49,23 +108,7 @@ public class ControllerIntro {
      * @param title the title of the stage
      */
     public void changeScene(String fxml, String title) {
-        try {
-            String resourcePath = "/" + fxml;
-            System.out.println("Loading FXML from path: " + resourcePath);
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(resourcePath));
-            if (loader == null) {
-                throw new IOException("FXML resource not found: " + resourcePath);
-            }
-            Parent root = loader.load();
-            Stage stage = (Stage) clientOperationsButton.getScene().getWindow();
-            Scene scene = new Scene(root);
-            stage.setScene(scene);
-            stage.setTitle(title);
-            stage.show();
-        } catch (IOException e) {
-            System.err.println("Error loading scene: " + e.getMessage());
-            e.printStackTrace();
-        }
+        SceneManager.show((Stage) clientOperationsButton.getScene().getWindow(), fxml, title);
     }
 
 }
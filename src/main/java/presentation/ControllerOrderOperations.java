@@ -1,47 +1,47 @@
 package presentation;
 
 import businessLayer.OrderBLL;
+import businessLayer.OrderPlacementService;
 import dataAcessLayer.OrderDAO;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
+import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
+import model.OrderDetails;
 import model.Orders;
-import java.io.IOException;
 import java.net.URL;
 import java.time.LocalDate;
 import java.util.Date;
+import java.util.List;
 import java.util.ResourceBundle;
 /**
  * The ControllerOrderOperations class is a controller for the order operations view.
  * It includes methods for handling button actions, changing scenes, and interacting with the Orders table in the database.
  */
-public class ControllerOrderOperations implements Initializable {
+public class ControllerOrderOperations implements Initializable, Refreshable {
 
     @FXML
-    private TableView<Orders> tableOrders;
+    private TableView<OrderDetails> tableOrders;
     @FXML
-    private TableColumn<Orders, Integer> orderIdTableColumn;
+    private TableColumn<OrderDetails, Integer> orderIdTableColumn;
     @FXML
-    private TableColumn<Orders, Integer> clientIdTableColumn;
+    private TableColumn<OrderDetails, String> clientNameTableColumn;
     @FXML
-    private TableColumn<Orders, Integer> productIdTableColumn;
+    private TableColumn<OrderDetails, String> productNameTableColumn;
     @FXML
-    private TableColumn<Orders, Integer> quantityTableColumn;
+    private TableColumn<OrderDetails, Integer> quantityTableColumn;
     @FXML
-    private TableColumn<Orders, Date> orderDateTableColumn;
+    private TableColumn<OrderDetails, Double> totalTableColumn;
+    @FXML
+    private TableColumn<OrderDetails, Date> orderDateTableColumn;
     @FXML
     private DatePicker editDateDatePicker;
     @FXML
@@ -49,7 +49,7 @@ public class ControllerOrderOperations implements Initializable {
     @FXML
     private Label errorLabel;
 
-    private ObservableList<Orders> ordersList;
+    private TablePager<OrderDetails> ordersPager;
 
     /**
      * Initializes the controller class. This method is automatically called
@@ -61,20 +61,33 @@ public class ControllerOrderOperations implements Initializable {
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         orderIdTableColumn.setCellValueFactory(new PropertyValueFactory<>("order_id"));
-        clientIdTableColumn.setCellValueFactory(new PropertyValueFactory<>("client_id"));
-        productIdTableColumn.setCellValueFactory(new PropertyValueFactory<>("product_id"));
+        clientNameTableColumn.setCellValueFactory(new PropertyValueFactory<>("client_name"));
+        productNameTableColumn.setCellValueFactory(new PropertyValueFactory<>("product_name"));
         quantityTableColumn.setCellValueFactory(new PropertyValueFactory<>("quantity"));
+        totalTableColumn.setCellValueFactory(new PropertyValueFactory<>("total"));
         orderDateTableColumn.setCellValueFactory(new PropertyValueFactory<>("order_date"));
+        tableOrders.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        OrderDAO orderDAO = new OrderDAO();
+        ordersPager = TablePager.attach(tableOrders, orderDAO::getOrderDetailsPage, OrderDetails::getOrder_id);
+        ordersPager.follow(Orders.class, event -> orderDAO.getOrderDetails(event.getId()));
         fetchOrdersFromDatabase();
     }
 
     /**
-     * Fetches all orders from the database and sets them in the orders table.
+     * Reloads the orders when the screen is shown again.
+     */
+    @Override
+    public void refresh() {
+        fetchOrdersFromDatabase();
+    }
+
+    /**
+     * Reloads the orders table from the first page; further pages are fetched as the user scrolls.
+     * Each page comes with the client and product names from one joined query.
+     * Afterwards, each published order change re-reads only the details of the changed order.
      */
     private void fetchOrdersFromDatabase() {
-        OrderDAO orderDAO = new OrderDAO();
-        ordersList = FXCollections.observableArrayList(orderDAO.getAllOrders());
-        tableOrders.setItems(ordersList);
+        ordersPager.reset();
     }
 
     /**
@@ -97,14 +110,37 @@ public class ControllerOrderOperations implements Initializable {
        changeScene("/createProductOrder.fxml", "Create Order");
     }
 
+    /**
+     * Handles the action of the sales report button.
+     * It changes the scene to the sales report view.
+     */
+    @FXML
+    void salesReportButtonOnAction() {
+        changeScene("/salesReport.fxml", "Sales report");
+    }
+
     /**
      * Handles the action of the update order button.
      * It updates the selected order's information in the database.
+     * If several orders are selected, they are all moved to the chosen date at once.
      */
     @FXML
     void updateOrderButtonOnAction() {
-        Orders selectedOrders = tableOrders.getSelectionModel().getSelectedItem();
-        if (selectedOrders != null) {
+        UiTrace.run("ControllerOrderOperations.updateOrder", this::updateOrder);
+    }
+
+    /**
+     * Does the work of {@link #updateOrderButtonOnAction()}.
+     */
+    private void updateOrder() {
+        List<OrderDetails> selectedDetailsList = List.copyOf(tableOrders.getSelectionModel().getSelectedItems());
+        if (selectedDetailsList.size() > 1) {
+            updateOrders(selectedDetailsList);
+            return;
+        }
+        OrderDetails selectedDetails = tableOrders.getSelectionModel().getSelectedItem();
+        if (selectedDetails != null) {
+            Orders selectedOrders = selectedDetails.toOrders();
             LocalDate localDate = editDateDatePicker.getValue();
             if (localDate != null && localDate.isAfter(LocalDate.now())) {
                 errorLabel.setText("The date cannot be later than the current date.");
@@ -117,11 +153,12 @@ public class ControllerOrderOperations implements Initializable {
             try {
                 new OrderBLL().validate(updatedOrders);
                 OrderDAO orderDAO = new OrderDAO();
-                orderDAO.updateOrder(updatedOrders);
-                fetchOrdersFromDatabase();
-                clearEditFields();
-
-                System.out.println("Orders Update success");
+                FxAsync.call(tableOrders, () -> orderDAO.updateOrder(selectedOrders, updatedOrders), result -> {
+                    if (UpdateResultAlert.check(result, "order")) {
+                        clearEditFields();
+                        System.out.println("Orders Update success");
+                    }
+                });
             } catch (IllegalArgumentException e) {
                 showAlert("Validation Error", e.getMessage());
             }
@@ -130,20 +167,70 @@ public class ControllerOrderOperations implements Initializable {
         }
     }
 
+    /**
+     * Moves every selected order to the chosen date in one transaction.
+     *
+     * @param selectedDetailsList the selected orders
+     */
+    private void updateOrders(List<OrderDetails> selectedDetailsList) {
+        LocalDate localDate = editDateDatePicker.getValue();
+        if (localDate == null) {
+            showAlert("No Changes", "No changes made to update.");
+            return;
+        }
+        if (localDate.isAfter(LocalDate.now())) {
+            errorLabel.setText("The date cannot be later than the current date.");
+            return;
+        }
+        Date updatedOrderDate = java.sql.Date.valueOf(localDate);
+        try {
+            OrderBLL orderBLL = new OrderBLL();
+            for (OrderDetails details : selectedDetailsList) {
+                Orders orders = details.toOrders();
+                orderBLL.validate(new Orders(orders.getOrder_id(), orders.getClient_id(), orders.getProduct_id(), orders.getQuantity(), updatedOrderDate));
+            }
+        } catch (IllegalArgumentException e) {
+            showAlert("Validation Error", e.getMessage());
+            return;
+        }
+        int[] ids = selectedDetailsList.stream().mapToInt(OrderDetails::getOrder_id).toArray();
+        OrderDAO orderDAO = new OrderDAO();
+        FxAsync.call(tableOrders, () -> orderDAO.updateOrderDates(ids, updatedOrderDate), updated -> {
+            if (updated < 0) {
+                showAlert("Update Failed", "The orders could not be updated.");
+            } else {
+                clearEditFields();
+                if (updated < ids.length) {
+                    showAlert("Partially Updated", (ids.length - updated) + " of the selected orders no longer existed.");
+                }
+            }
+        });
+    }
+
     /**
      * Handles the action of the delete order button.
-     * It deletes the selected order from the database.
+     * It deletes the selected orders from the database in one transaction and returns their quantities to stock.
      */
     @FXML
     void deleteOrderButtonOnAction() {
-        Orders selectedOrders = tableOrders.getSelectionModel().getSelectedItem();
+        UiTrace.run("ControllerOrderOperations.deleteOrder", this::deleteOrder);
+    }
 
-        if (selectedOrders != null) {
-            OrderDAO orderDAO = new OrderDAO();
-            orderDAO.delete(selectedOrders);
-            fetchOrdersFromDatabase();
+    /**
+     * Does the work of {@link #deleteOrderButtonOnAction()}.
+     */
+    private void deleteOrder() {
+        int[] ids = tableOrders.getSelectionModel().getSelectedItems().stream().mapToInt(OrderDetails::getOrder_id).toArray();
 
-            System.out.println("Orders Delete success");
+        if (ids.length > 0) {
+            OrderPlacementService orderPlacementService = new OrderPlacementService();
+            FxAsync.call(tableOrders, () -> orderPlacementService.cancelOrders(ids), deleted -> {
+                if (deleted == 0) {
+                    showAlert("Delete Failed", "The selected orders could not be deleted.");
+                } else if (deleted < ids.length) {
+                    showAlert("Partially Deleted", (ids.length - deleted) + " of the selected orders no longer existed.");
+                }
+            });
         } else {
             showAlert("Select Orders", "Please select an order to delete.");
         }
@@ -176,19 +263,6 @@ public class ControllerOrderOperations implements Initializable {
      * @param title the title of the scene
      */
     public void changeScene(String fxml, String title) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxml));
-            Parent root = loader.load();
-
-            Stage stage = (Stage) goBackButton.getScene().getWindow();
-
-            Scene scene = new Scene(root);
-            stage.setScene(scene);
-            stage.setTitle(title);
-
-            stage.show();
-        } catch (IOException e) {
-            System.err.println("Error loading scene: " + e.getMessage());
-        }
+        SceneManager.show((Stage) goBackButton.getScene().getWindow(), fxml, title);
     }
 }
\ No newline at end of file
@@ -1,30 +1,32 @@
 package presentation;
 
+import businessLayer.CsvImporter;
+import businessLayer.InventoryLedger;
 import businessLayer.ProductBLL;
 import dataAcessLayer.ProductDAO;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import dataAcessLayer.UpdateResult;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
 import model.Client;
 import model.Product;
-import java.io.IOException;
 import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 /**
  * The ControllerProductOperations class is a controller for the product operations view.
  * It includes methods for initializing the view, handling button actions, and changing scenes.
  */
-public class ControllerProductOperations implements Initializable {
+public class ControllerProductOperations implements Initializable, Refreshable {
     @FXML
     private Button goBackButton;
     @FXML
+    private Label importStatusLabel;
+    @FXML
     private TableView<Product> tableProducts;
     @FXML
     private TableColumn<Client, Integer> productIdTableColumn;
@@ -45,7 +47,7 @@ public class ControllerProductOperations implements Initializable {
     @FXML
     private TextField editQuantityField;
 
-    private ObservableList<Product> productsList;
+    private TablePager<Product> productPager;
 
     /**
      * Changes the scene to the specified fxml file and sets the title of the stage.
@@ -54,23 +56,7 @@ public class ControllerProductOperations implements Initializable {
      * @param title the title of the stage
      */
     public void changeScene(String fxml, String title) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/" + fxml));
-            Parent root = loader.load();
-
-            Stage stage = (Stage) goBackButton.getScene().getWindow();
-
-            Scene scene = new Scene(root);
-            stage.setScene(scene);
-            stage.setTitle(title);
-
-            stage.show();
-        } catch (IOException e) {
-
-            System.err.println("Error loading scene: " + e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        SceneManager.show((Stage) goBackButton.getScene().getWindow(), fxml, title);
     }
 
     /**
@@ -87,6 +73,13 @@ public class ControllerProductOperations implements Initializable {
      */
     @FXML
     void addProductButtonOnAction() {
+        UiTrace.run("ControllerProductOperations.addProduct", this::addProduct);
+    }
+
+    /**
+     * Does the work of {@link #addProductButtonOnAction()}.
+     */
+    private void addProduct() {
         if (areFieldsEmpty()) {
             showAlert("Empty Fields", "Please fill all the fields before adding a product.");
             return;
@@ -101,11 +94,10 @@ public class ControllerProductOperations implements Initializable {
         try {
             new ProductBLL().validate(product);
             ProductDAO productDAO = new ProductDAO();
-            productDAO.insertProduct(product);
-            fetchProductFromDatabase();
-            clearEditFields();
-
-            System.out.println("Product Insertion success");
+            FxAsync.run(tableProducts, () -> productDAO.insertProduct(product), () -> {
+                clearEditFields();
+                System.out.println("Product Insertion success");
+            });
         } catch (IllegalArgumentException e) {
             showAlert("Validation Error", e.getMessage());
         }
@@ -113,18 +105,32 @@ public class ControllerProductOperations implements Initializable {
 
     /**
      * Handles the action of the delete product button.
-     * It deletes the selected product from the database.
+     * It deletes the selected products from the database in one transaction.
      */
     @FXML
     void deleteProductButtonOnAction() {
-        Product selectedProduct = tableProducts.getSelectionModel().getSelectedItem();
+        UiTrace.run("ControllerProductOperations.deleteProduct", this::deleteProduct);
+    }
 
-        if (selectedProduct != null) {
-            ProductDAO productDAO = new ProductDAO();
-            productDAO.delete(selectedProduct);
-            fetchProductFromDatabase();
+    /**
+     * Does the work of {@link #deleteProductButtonOnAction()}.
+     */
+    private void deleteProduct() {
+        int[] ids = tableProducts.getSelectionModel().getSelectedItems().stream().mapToInt(Product::getProduct_id).toArray();
 
-            System.out.println("Product Delete success");
+        if (ids.length > 0) {
+            ProductDAO productDAO = new ProductDAO();
+            FxAsync.call(tableProducts, () -> {
+                int deleted = productDAO.deleteProducts(ids);
+                refreshLedger(ids);
+                return deleted;
+            }, deleted -> {
+                if (deleted <= 0) {
+                    showAlert("Delete Failed", "The selected products could not be deleted.");
+                } else if (deleted < ids.length) {
+                    showAlert("Partially Deleted", (ids.length - deleted) + " of the selected products no longer existed.");
+                }
+            });
         } else {
             showAlert("Select product", "Please select a product to delete.");
         }
@@ -144,24 +150,48 @@ public class ControllerProductOperations implements Initializable {
         descriptionTableColumn.setCellValueFactory(new PropertyValueFactory<>("description"));
         priceTableColumn.setCellValueFactory(new PropertyValueFactory<>("price"));
         quantityTableColumn.setCellValueFactory(new PropertyValueFactory<>("stock_quantity"));
+        tableProducts.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        ProductDAO productDAO = new ProductDAO();
+        productPager = TablePager.attach(tableProducts, productDAO::getProductsPage, Product::getProduct_id);
+        productPager.follow(Product.class, event -> event.getEntity() != null ? event.getEntity() : productDAO.getProductById(event.getId()));
         fetchProductFromDatabase();
     }
 
     /**
-     * Fetches all products from the database and updates the product list.
+     * Reloads the products when the screen is shown again.
+     */
+    @Override
+    public void refresh() {
+        fetchProductFromDatabase();
+    }
+
+    /**
+     * Reloads the products table from the first page; further pages are fetched as the user scrolls.
+     * Afterwards, changes to products, including stock changes made by orders, are applied to the loaded rows.
      */
     private void fetchProductFromDatabase() {
-        ProductDAO productDAO = new ProductDAO();
-        productsList = FXCollections.observableArrayList(productDAO.getAllProducts());
-        tableProducts.setItems(productsList);
+        productPager.reset();
     }
 
     /**
      * Handles the action of the update product button.
      * It updates the selected product's information in the database.
+     * If several products are selected, the filled-in fields are written to all of them at once.
      */
     @FXML
     void updateProductButtonOnAction() {
+        UiTrace.run("ControllerProductOperations.updateProduct", this::updateProduct);
+    }
+
+    /**
+     * Does the work of {@link #updateProductButtonOnAction()}.
+     */
+    private void updateProduct() {
+        List<Product> selectedProducts = List.copyOf(tableProducts.getSelectionModel().getSelectedItems());
+        if (selectedProducts.size() > 1) {
+            updateProducts(selectedProducts);
+            return;
+        }
         Product selectedProduct = tableProducts.getSelectionModel().getSelectedItem();
         if (selectedProduct != null) {
             String updatedName = editNameField.getText().trim();
@@ -179,11 +209,18 @@ public class ControllerProductOperations implements Initializable {
                 try {
                     new ProductBLL().validate(updatedProduct);
                     ProductDAO productDAO = new ProductDAO();
-                    productDAO.updateProduct(updatedProduct);
-                    fetchProductFromDatabase();
-                    clearEditFields();
-
-                    System.out.println("Product Update success");
+                    FxAsync.call(tableProducts, () -> {
+                        UpdateResult<Product> result = productDAO.updateProduct(selectedProduct, updatedProduct);
+                        if (result.isSuccessful()) {
+                            InventoryLedger.getInstance().refresh(updatedProduct.getProduct_id());
+                        }
+                        return result;
+                    }, result -> {
+                        if (UpdateResultAlert.check(result, "product")) {
+                            clearEditFields();
+                            System.out.println("Product Update success");
+                        }
+                    });
                 } catch (IllegalArgumentException e) {
                     showAlert("Validation Error", e.getMessage());
                 }
@@ -195,6 +232,74 @@ public class ControllerProductOperations implements Initializable {
         }
     }
 
+    /**
+     * Writes the filled-in edit fields to every selected product in one statement.
+     * Every product is validated with the new values before anything is written.
+     *
+     * @param selectedProducts the selected products
+     */
+    private void updateProducts(List<Product> selectedProducts) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (!editNameField.getText().trim().isEmpty()) {
+            values.put("name", editNameField.getText().trim());
+        }
+        if (!editDescriptionField.getText().trim().isEmpty()) {
+            values.put("description", editDescriptionField.getText().trim());
+        }
+        if (!editPriceField.getText().trim().isEmpty()) {
+            values.put("price", Double.parseDouble(editPriceField.getText().trim()));
+        }
+        if (!editQuantityField.getText().trim().isEmpty()) {
+            values.put("stock_quantity", Integer.parseInt(editQuantityField.getText().trim()));
+        }
+        if (values.isEmpty()) {
+            showAlert("No Changes", "No changes made to update.");
+            return;
+        }
+        try {
+            ProductBLL productBLL = new ProductBLL();
+            for (Product product : selectedProducts) {
+                productBLL.validate(new Product(product.getProduct_id(),
+                        (String) values.getOrDefault("name", product.getName()),
+                        (String) values.getOrDefault("description", product.getDescription()),
+                        (Double) values.getOrDefault("price", product.getPrice()),
+                        (Integer) values.getOrDefault("stock_quantity", product.getStock_quantity())));
+            }
+        } catch (IllegalArgumentException e) {
+            showAlert("Validation Error", e.getMessage());
+            return;
+        }
+        int[] ids = selectedProducts.stream().mapToInt(Product::getProduct_id).toArray();
+        ProductDAO productDAO = new ProductDAO();
+        FxAsync.call(tableProducts, () -> {
+            int updated = productDAO.updateProducts(ids, values);
+            if (updated > 0 && values.containsKey("stock_quantity")) {
+                refreshLedger(ids);
+            }
+            return updated;
+        }, updated -> {
+            if (updated < 0) {
+                showAlert("Update Failed", "The products could not be updated.");
+            } else {
+                clearEditFields();
+                if (updated < ids.length) {
+                    showAlert("Partially Updated", (ids.length - updated) + " of the selected products no longer existed.");
+                }
+            }
+        });
+    }
+
+    /**
+     * Reloads the stock of the given products into the inventory ledger.
+     *
+     * @param ids the ids of the products
+     */
+    private static void refreshLedger(int[] ids) {
+        for (int id : ids) {
+            InventoryLedger.getInstance().refresh(id);
+        }
+    }
+
     /**
      * Clears the edit fields.
      */
@@ -205,6 +310,15 @@ public class ControllerProductOperations implements Initializable {
         editQuantityField.clear();
     }
 
+    /**
+     * Handles the action of the import CSV button.
+     * It imports products in bulk from a CSV file chosen by the user.
+     */
+    @FXML
+    void importProductsButtonOnAction() {
+        CsvImportAction.run(tableProducts, importStatusLabel, "Import products", CsvImporter.forProducts());
+    }
+
     /**
      * Checks if the input fields are empty.
      *
@@ -0,0 +1,159 @@
+package presentation;
+
+import businessLayer.ReportService;
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.Stage;
+import model.ClientSales;
+import model.DailySales;
+import model.ProductSales;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.ResourceBundle;
+/**
+ * The ControllerSalesReport class is a controller for the sales report view.
+ * It shows the top products, the top clients and the daily sales of a date range, as computed by the {@link ReportService}.
+ */
+public class ControllerSalesReport implements Initializable, Refreshable {
+
+    private static final int TOP_LIMIT = 100;
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    @FXML
+    private DatePicker fromDatePicker;
+    @FXML
+    private DatePicker toDatePicker;
+    @FXML
+    private Button showReportButton;
+    @FXML
+    private TableView<ProductSales> tableTopProducts;
+    @FXML
+    private TableColumn<ProductSales, Integer> productIdTableColumn;
+    @FXML
+    private TableColumn<ProductSales, String> productNameTableColumn;
+    @FXML
+    private TableColumn<ProductSales, Integer> productOrdersTableColumn;
+    @FXML
+    private TableColumn<ProductSales, Long> productUnitsTableColumn;
+    @FXML
+    private TableColumn<ProductSales, Double> productRevenueTableColumn;
+    @FXML
+    private TableView<ClientSales> tableTopClients;
+    @FXML
+    private TableColumn<ClientSales, Integer> clientIdTableColumn;
+    @FXML
+    private TableColumn<ClientSales, String> clientNameTableColumn;
+    @FXML
+    private TableColumn<ClientSales, Integer> clientOrdersTableColumn;
+    @FXML
+    private TableColumn<ClientSales, Long> clientUnitsTableColumn;
+    @FXML
+    private TableColumn<ClientSales, Double> clientRevenueTableColumn;
+    @FXML
+    private TableView<DailySales> tableDailySales;
+    @FXML
+    private TableColumn<DailySales, Date> dayTableColumn;
+    @FXML
+    private TableColumn<DailySales, Integer> dayOrdersTableColumn;
+    @FXML
+    private TableColumn<DailySales, Long> dayUnitsTableColumn;
+    @FXML
+    private TableColumn<DailySales, Double> dayRevenueTableColumn;
+    @FXML
+    private Button goBackButton;
+    @FXML
+    private Label errorLabel;
+
+    private final ReportService reportService = new ReportService();
+
+    /**
+     * Initializes the controller class. This method is automatically called
+     * after the fxml file has been loaded. It shows the report of the last 30 days.
+     *
+     * @param url The location used to resolve relative paths for the root object, or null if the location is not known.
+     * @param resourceBundle The resources used to localize the root object, or null if the root object was not localized.
+     */
+    @Override
+    public void initialize(URL url, ResourceBundle resourceBundle) {
+        productIdTableColumn.setCellValueFactory(new PropertyValueFactory<>("product_id"));
+        productNameTableColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
+        productOrdersTableColumn.setCellValueFactory(new PropertyValueFactory<>("order_count"));
+        productUnitsTableColumn.setCellValueFactory(new PropertyValueFactory<>("units_sold"));
+        productRevenueTableColumn.setCellValueFactory(new PropertyValueFactory<>("revenue"));
+        clientIdTableColumn.setCellValueFactory(new PropertyValueFactory<>("client_id"));
+        clientNameTableColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
+        clientOrdersTableColumn.setCellValueFactory(new PropertyValueFactory<>("order_count"));
+        clientUnitsTableColumn.setCellValueFactory(new PropertyValueFactory<>("units_sold"));
+        clientRevenueTableColumn.setCellValueFactory(new PropertyValueFactory<>("revenue"));
+        dayTableColumn.setCellValueFactory(new PropertyValueFactory<>("order_date"));
+        dayOrdersTableColumn.setCellValueFactory(new PropertyValueFactory<>("order_count"));
+        dayUnitsTableColumn.setCellValueFactory(new PropertyValueFactory<>("units_sold"));
+        dayRevenueTableColumn.setCellValueFactory(new PropertyValueFactory<>("revenue"));
+        toDatePicker.setValue(LocalDate.now());
+        fromDatePicker.setValue(LocalDate.now().minusDays(DEFAULT_RANGE_DAYS));
+        showReportButtonOnAction();
+    }
+
+    /**
+     * Runs the reports again for the selected date range when the screen is shown again.
+     */
+    @Override
+    public void refresh() {
+        showReportButtonOnAction();
+    }
+
+    /**
+     * Handles the action of the show button.
+     * It runs the three reports for the selected date range in the background and fills the tables.
+     */
+    @FXML
+    void showReportButtonOnAction() {
+        LocalDate from = fromDatePicker.getValue();
+        LocalDate to = toDatePicker.getValue();
+        if (from == null || to == null) {
+            errorLabel.setText("Please select both dates of the report.");
+            return;
+        }
+        if (from.isAfter(to)) {
+            errorLabel.setText("The start date cannot be later than the end date.");
+            return;
+        }
+        errorLabel.setText("");
+        FxAsync.call(tableTopProducts, () -> reportService.topProducts(from, to, TOP_LIMIT),
+                rows -> tableTopProducts.setItems(FXCollections.observableArrayList(rows)));
+        FxAsync.call(tableTopClients, () -> reportService.topClients(from, to, TOP_LIMIT),
+                rows -> tableTopClients.setItems(FXCollections.observableArrayList(rows)));
+        FxAsync.call(tableDailySales, () -> reportService.dailySales(from, to),
+                rows -> tableDailySales.setItems(FXCollections.observableArrayList(rows)));
+    }
+
+    /**
+     * Handles the action of the go back button.
+     * It changes the scene to the order operations view.
+     *
+     * @param event the action event
+     */
+    @FXML
+    void goBackButtonOnAction(ActionEvent event) {
+        changeScene("/orderOperations.fxml", "Order operations");
+    }
+
+    /**
+     * Changes the scene to the specified fxml file with the given title.
+     *
+     * @param fxml the fxml file to change to
+     * @param title the title of the scene
+     */
+    public void changeScene(String fxml, String title) {
+        SceneManager.show((Stage) goBackButton.getScene().getWindow(), fxml, title);
+    }
+}
@@ -0,0 +1,99 @@
+package presentation;
+
+import businessLayer.CsvImporter;
+import businessLayer.ImportListener;
+import businessLayer.ImportReport;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.stage.FileChooser;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The CsvImportAction class runs a bulk CSV import from an operations screen.
+ * It asks for the file, imports it in the background, shows the progress in a label and writes every rejected
+ * row, with the reasons, to a file named after the imported file with a ".rejected.csv" suffix.
+ * Open tables pick up the imported rows through the change event the DAO publishes after the import.
+ */
+final class CsvImportAction {
+
+    private CsvImportAction() {
+    }
+
+    /**
+     * Asks the user for a CSV file and imports it.
+     *
+     * @param owner the node whose window owns the file chooser and which is disabled during the import
+     * @param statusLabel the label that shows the progress
+     * @param title the title of the file chooser
+     * @param importer the importer to use
+     */
+    static void run(Node owner, Label statusLabel, String title, CsvImporter<?> importer) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle(title);
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = fileChooser.showOpenDialog(owner.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        Path rejectsFile = file.toPath().resolveSibling(file.getName() + ".rejected.csv");
+        statusLabel.setText("Importing " + file.getName() + "...");
+        FxAsync.call(owner, () -> importFile(importer, file.toPath(), rejectsFile, statusLabel), report -> {
+            statusLabel.setText("Imported " + report.getImported() + " of " + report.getRowsRead() + " rows"
+                    + (report.getRejected() > 0 ? ", " + report.getRejected() + " rejected (see " + rejectsFile.getFileName() + ")" : ""));
+        }, error -> {
+            statusLabel.setText("Import of " + file.getName() + " failed");
+            FxAsync.showError(error);
+        });
+    }
+
+    /**
+     * Imports the file, reporting progress to the label and writing rejected rows to the rejects file.
+     * The rejects file is deleted once closed if no row was rejected.
+     *
+     * @param importer the importer to use
+     * @param file the file to import
+     * @param rejectsFile the file receiving the rejected rows
+     * @param statusLabel the label that shows the progress
+     * @return the totals of the import
+     */
+    private static ImportReport importFile(CsvImporter<?> importer, Path file, Path rejectsFile, Label statusLabel) {
+        ImportReport report;
+        try (BufferedWriter rejects = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8)) {
+            report = importer.importFile(file, new ImportListener() {
+                @Override
+                public void progress(long rowsRead, long imported, long rejected) {
+                    Platform.runLater(() -> statusLabel.setText("Read " + rowsRead + " rows, imported " + imported
+                            + ", rejected " + rejected));
+                }
+
+                @Override
+                public void rejected(long lineNumber, String line, List<String> reasons) {
+                    try {
+                        rejects.write(lineNumber + "," + line + ",\"" + String.join("; ", reasons).replace("\"", "\"\"") + "\"");
+                        rejects.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (report.getRejected() == 0) {
+            try {
+                Files.deleteIfExists(rejectsFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return report;
+    }
+}
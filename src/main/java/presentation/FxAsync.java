@@ -0,0 +1,137 @@
+package presentation;
+
+import dataAcessLayer.AsyncDAO;
+import javafx.application.Platform;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The FxAsync class runs database work from the controllers in the background.
+ * The work runs through {@link AsyncDAO}, so the JavaFX application thread never blocks on JDBC,
+ * and the result or the error is handed back on the JavaFX application thread.
+ * While the work runs, the given node is disabled and the scene shows a wait cursor; when several operations
+ * overlap on the same node or scene, they stay busy until the last one ends.
+ * Must be called on the JavaFX application thread.
+ */
+final class FxAsync {
+
+    private static final Logger LOGGER = Logger.getLogger(FxAsync.class.getName());
+    private static final Map<Node, Integer> busyNodes = new WeakHashMap<>();
+    private static final Map<Scene, Integer> busyScenes = new WeakHashMap<>();
+
+    private FxAsync() {
+    }
+
+    /**
+     * Runs work that returns a value and passes the value to a callback on the JavaFX application thread.
+     * If the work fails, the error is shown in an alert.
+     *
+     * @param owner the node to mark as busy while the work runs
+     * @param work the database work
+     * @param onDone receives the result on the JavaFX application thread
+     * @param <R> the type of the result
+     * @return a future completed after the callback has run
+     */
+    static <R> CompletableFuture<Void> call(Node owner, Supplier<R> work, Consumer<R> onDone) {
+        return call(owner, work, onDone, FxAsync::showError);
+    }
+
+    /**
+     * Runs work that returns a value and passes the value, or the error if the work fails,
+     * to a callback on the JavaFX application thread.
+     *
+     * @param owner the node to mark as busy while the work runs
+     * @param work the database work
+     * @param onDone receives the result on the JavaFX application thread
+     * @param onError receives the error on the JavaFX application thread
+     * @param <R> the type of the result
+     * @return a future completed after the callback has run
+     */
+    static <R> CompletableFuture<Void> call(Node owner, Supplier<R> work, Consumer<R> onDone, Consumer<Throwable> onError) {
+        Scene scene = owner.getScene();
+        setBusy(owner, scene, true);
+        return AsyncDAO.supply(work).handleAsync((result, error) -> {
+            setBusy(owner, scene, false);
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                LOGGER.log(Level.WARNING, "Background database operation failed", cause);
+                onError.accept(cause);
+            } else {
+                onDone.accept(result);
+            }
+            return null;
+        }, Platform::runLater);
+    }
+
+    /**
+     * Runs work that returns nothing and then runs a callback on the JavaFX application thread.
+     * If the work fails, the error is shown in an alert.
+     *
+     * @param owner the node to mark as busy while the work runs
+     * @param work the database work
+     * @param onDone runs on the JavaFX application thread after the work
+     * @return a future completed after the callback has run
+     */
+    static CompletableFuture<Void> run(Node owner, Runnable work, Runnable onDone) {
+        return call(owner, () -> {
+            work.run();
+            return null;
+        }, ignored -> onDone.run());
+    }
+
+    /**
+     * Shows the error of a failed operation in an alert.
+     *
+     * @param error the error
+     */
+    static void showError(Throwable error) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Operation Failed");
+        alert.setHeaderText(null);
+        alert.setContentText(error.getMessage() != null ? error.getMessage() : error.toString());
+        alert.showAndWait();
+    }
+
+    /**
+     * Marks a node and its scene as busy or idle, counting the operations running on each.
+     *
+     * @param owner the node
+     * @param scene the scene of the node when the operation started, or null
+     * @param busy true when an operation starts, false when it ends
+     */
+    private static void setBusy(Node owner, Scene scene, boolean busy) {
+        owner.setDisable(count(busyNodes, owner, busy) > 0);
+        if (scene != null) {
+            scene.setCursor(count(busyScenes, scene, busy) > 0 ? Cursor.WAIT : Cursor.DEFAULT);
+        }
+    }
+
+    /**
+     * Counts an operation starting or ending on a key.
+     *
+     * @param counts the running operations per key
+     * @param key the node or scene
+     * @param start true when an operation starts, false when it ends
+     * @param <K> the type of the key
+     * @return the number of operations still running on the key
+     */
+    private static <K> int count(Map<K, Integer> counts, K key, boolean start) {
+        int running = counts.getOrDefault(key, 0) + (start ? 1 : -1);
+        if (running > 0) {
+            counts.put(key, running);
+        } else {
+            counts.remove(key);
+        }
+        return running;
+    }
+}
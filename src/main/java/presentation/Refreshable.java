@@ -0,0 +1,13 @@
+package presentation;
+
+/**
+ * The Refreshable interface is implemented by the controllers whose screen shows data from the database.
+ * {@link SceneManager} calls it when a screen it has already loaded is shown again.
+ */
+interface Refreshable {
+
+    /**
+     * Reloads the data shown by the screen, keeping everything else as it was.
+     */
+    void refresh();
+}
@@ -0,0 +1,126 @@
+package presentation;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The SceneManager class switches the stage between the screens of the application.
+ * Each FXML file is parsed once; its scene and controller are kept, so going back to a screen only refreshes its data
+ * through {@link Refreshable} instead of parsing the FXML, building the scene graph and running initialize again.
+ * Screens can be loaded ahead of time with {@link #warmUp(String...)}.
+ * Every method must be called on the JavaFX application thread.
+ */
+public final class SceneManager {
+
+    private static final Logger LOGGER = Logger.getLogger(SceneManager.class.getName());
+    private static final Map<String, Screen> SCREENS = new HashMap<>();
+
+    private SceneManager() {
+    }
+
+    /**
+     * Shows a screen on the stage, loading it on first use and refreshing its data when it was already loaded.
+     *
+     * @param stage the stage
+     * @param fxml the fxml file of the screen, with or without a leading slash
+     * @param title the title of the stage
+     */
+    public static void show(Stage stage, String fxml, String title) {
+        String resource = resourceOf(fxml);
+        Screen screen = SCREENS.get(resource);
+        if (screen == null) {
+            screen = load(resource);
+            if (screen == null) {
+                return;
+            }
+        } else if (screen.controller instanceof Refreshable refreshable) {
+            refreshable.refresh();
+        }
+        stage.setScene(screen.scene);
+        stage.setTitle(title);
+        stage.show();
+    }
+
+    /**
+     * Loads screens ahead of time, one per pass of the JavaFX event loop, so user input is handled in between.
+     * Screens already loaded are skipped.
+     *
+     * @param fxmls the fxml files of the screens
+     */
+    public static void warmUp(String... fxmls) {
+        Platform.runLater(() -> warmUp(fxmls, 0));
+    }
+
+    /**
+     * Loads one screen of a warm-up and schedules the next one.
+     *
+     * @param fxmls the fxml files of the screens
+     * @param next the index of the screen to load
+     */
+    private static void warmUp(String[] fxmls, int next) {
+        if (next >= fxmls.length) {
+            return;
+        }
+        String resource = resourceOf(fxmls[next]);
+        if (!SCREENS.containsKey(resource)) {
+            load(resource);
+        }
+        Platform.runLater(() -> warmUp(fxmls, next + 1));
+    }
+
+    /**
+     * Parses an fxml file and keeps its scene and controller.
+     *
+     * @param resource the absolute resource path of the fxml file
+     * @return the loaded screen, or null if the file could not be loaded
+     */
+    private static Screen load(String resource) {
+        URL location = SceneManager.class.getResource(resource);
+        if (location == null) {
+            LOGGER.log(Level.WARNING, "SceneManager:load FXML resource not found: " + resource);
+            return null;
+        }
+        try {
+            FXMLLoader loader = new FXMLLoader(location);
+            Parent root = loader.load();
+            Screen screen = new Screen(new Scene(root), loader.getController());
+            SCREENS.put(resource, screen);
+            return screen;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "SceneManager:load " + resource + " " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Turns an fxml file name into its absolute resource path.
+     *
+     * @param fxml the fxml file, with or without a leading slash
+     * @return the resource path
+     */
+    private static String resourceOf(String fxml) {
+        return fxml.startsWith("/") ? fxml : "/" + fxml;
+    }
+
+    /**
+     * The Screen class holds the scene and the controller of a loaded fxml file.
+     */
+    private static final class Screen {
+        private final Scene scene;
+        private final Object controller;
+
+        private Screen(Scene scene, Object controller) {
+            this.scene = scene;
+            this.controller = controller;
+        }
+    }
+}
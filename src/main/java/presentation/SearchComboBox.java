@@ -0,0 +1,96 @@
+package presentation;
+
+import dataAcessLayer.AsyncDAO;
+import javafx.application.Platform;
+import javafx.scene.control.ComboBox;
+import javafx.util.StringConverter;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The SearchComboBox class turns a ComboBox into a search-as-you-type field.
+ * Instead of holding every entity, the combo box is editable and, each time the typed text changes,
+ * its items are replaced by the first matches of a search, shown in the popup.
+ * The search runs through {@link AsyncDAO}, and results of outdated searches are dropped.
+ */
+final class SearchComboBox {
+
+    /**
+     * The maximum number of matches shown in the popup.
+     */
+    static final int MAX_SUGGESTIONS = 20;
+
+    private static final Logger LOGGER = Logger.getLogger(SearchComboBox.class.getName());
+
+    private SearchComboBox() {
+    }
+
+    /**
+     * Makes a combo box search as the user types.
+     * The items are shown with their {@code toString()}, and the typed text is turned back into the value
+     * by keeping the item picked from the popup. Typed text is matched against the current items only when
+     * nothing with that text was picked, and only if exactly one item shows that text, since two clients
+     * or products may have the same name.
+     *
+     * @param comboBox the combo box
+     * @param search finds the matches of a text, receiving the text and the maximum number of matches
+     * @param <T> the type of the items
+     */
+    static <T> void install(ComboBox<T> comboBox, BiFunction<String, Integer, List<T>> search) {
+        comboBox.setEditable(true);
+        comboBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(T item) {
+                return item == null ? "" : item.toString();
+            }
+
+            @Override
+            public T fromString(String text) {
+                T selected = comboBox.getSelectionModel().getSelectedItem();
+                if (selected != null && selected.toString().equals(text)) {
+                    return selected;
+                }
+                T match = null;
+                for (T item : comboBox.getItems()) {
+                    if (item.toString().equals(text)) {
+                        if (match != null) {
+                            return null;
+                        }
+                        match = item;
+                    }
+                }
+                return match;
+            }
+        });
+        int[] generation = new int[1];
+        comboBox.getEditor().textProperty().addListener((observable, oldText, text) -> {
+            T value = comboBox.getValue();
+            if (value != null && value.toString().equals(text)) {
+                return;
+            }
+            int request = ++generation[0];
+            if (text == null || text.isBlank()) {
+                comboBox.hide();
+                comboBox.getItems().clear();
+                return;
+            }
+            AsyncDAO.supply(() -> search.apply(text, MAX_SUGGESTIONS)).whenCompleteAsync((matches, error) -> {
+                if (request != generation[0]) {
+                    return;
+                }
+                if (error != null) {
+                    LOGGER.log(Level.WARNING, "Search failed", error);
+                    return;
+                }
+                comboBox.getItems().setAll(matches);
+                if (matches.isEmpty()) {
+                    comboBox.hide();
+                } else if (comboBox.getEditor().isFocused()) {
+                    comboBox.show();
+                }
+            }, Platform::runLater);
+        });
+    }
+}
@@ -0,0 +1,310 @@
+package presentation;
+
+import dataAcessLayer.AsyncDAO;
+import dataAcessLayer.ChangeBus;
+import dataAcessLayer.ChangeEvent;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The TablePager class fills a TableView one page at a time.
+ * The first page is loaded when the view is reset, and the next page is appended
+ * whenever the user scrolls close to the bottom of the table.
+ * Pages are fetched in the background through {@link AsyncDAO} and appended on the JavaFX application thread;
+ * while the first page loads, the table shows a progress indicator.
+ * A pager can also follow the {@link ChangeBus}: each change is applied to the loaded rows in place,
+ * so a single-row edit touches one row instead of reloading the table.
+ * The rows are kept in key order, so a changed row is found with a binary search.
+ *
+ * @param <T> the type of the rows
+ */
+public class TablePager<T> {
+
+    /**
+     * The number of rows loaded per page.
+     */
+    public static final int PAGE_SIZE = 100;
+
+    private static final Logger LOGGER = Logger.getLogger(TablePager.class.getName());
+    private static final double SCROLL_THRESHOLD = 0.9;
+
+    private final TableView<T> table;
+    private final BiFunction<Integer, Integer, List<T>> pageSource;
+    private final ToIntFunction<T> keyOf;
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private final Label emptyPlaceholder = new Label("No content in table");
+    private final ProgressIndicator loadingPlaceholder = new ProgressIndicator();
+    private int lastKey;
+    private boolean exhausted;
+    private boolean loading;
+    private int generation;
+    /**
+     * The listener registered by {@link #follow}. The {@link ChangeBus} holds its listeners weakly,
+     * so this field is what keeps the listener subscribed for as long as the pager is in use.
+     */
+    private Consumer<? extends ChangeEvent<?>> changeListener;
+    private CompletableFuture<Void> pendingChanges = CompletableFuture.completedFuture(null);
+
+    private TablePager(TableView<T> table, BiFunction<Integer, Integer, List<T>> pageSource, ToIntFunction<T> keyOf) {
+        this.table = table;
+        this.pageSource = pageSource;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Creates a pager that fills the given table and loads the next page as the user scrolls.
+     * The listeners are registered here, once the pager is fully constructed.
+     *
+     * @param table the table to fill
+     * @param pageSource fetches the page after a given key, receiving the key and the page size
+     * @param keyOf extracts the primary key of a row
+     * @param <T> the type of the rows
+     * @return the pager
+     */
+    public static <T> TablePager<T> attach(TableView<T> table, BiFunction<Integer, Integer, List<T>> pageSource, ToIntFunction<T> keyOf) {
+        TablePager<T> pager = new TablePager<>(table, pageSource, keyOf);
+        table.setItems(pager.items);
+        table.skinProperty().addListener((observable, oldSkin, newSkin) -> pager.attachScrollListener());
+        if (table.getSkin() != null) {
+            pager.attachScrollListener();
+        }
+        return pager;
+    }
+
+    /**
+     * Returns the rows loaded so far.
+     *
+     * @return the observable list shown by the table
+     */
+    public ObservableList<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Drops the loaded rows and loads the first page again.
+     * A page still loading from before the reset is discarded when it arrives.
+     */
+    public void reset() {
+        generation++;
+        items.clear();
+        lastKey = 0;
+        exhausted = false;
+        loading = false;
+        loadNextPage();
+    }
+
+    /**
+     * Starts loading the next page in the background, unless every row has already been loaded
+     * or a page is already loading.
+     */
+    public void loadNextPage() {
+        if (exhausted || loading) {
+            return;
+        }
+        loading = true;
+        int requestGeneration = generation;
+        int afterKey = lastKey;
+        table.setPlaceholder(loadingPlaceholder);
+        AsyncDAO.supply(() -> pageSource.apply(afterKey, PAGE_SIZE)).whenCompleteAsync((page, error) -> {
+            if (requestGeneration != generation) {
+                return;
+            }
+            loading = false;
+            table.setPlaceholder(emptyPlaceholder);
+            if (error != null) {
+                LOGGER.log(Level.WARNING, "Error loading table page", error);
+                return;
+            }
+            if (page.size() < PAGE_SIZE) {
+                exhausted = true;
+            }
+            if (!page.isEmpty()) {
+                lastKey = keyOf.applyAsInt(page.get(page.size() - 1));
+                items.addAll(page);
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * Keeps the loaded rows in step with the changes published for an entity type.
+     * Changes are grouped: the group is taken only after a pass of the JavaFX event loop, so the changes of one
+     * batch write, and any published while an earlier group is still being applied, are applied together.
+     * Their rows are built in the background, in the order the changes were published, and the table is updated
+     * once, on the JavaFX application thread. A change to many entities, or a group of more than a page of changes, reloads the table.
+     *
+     * @param entityType the class of the entities whose changes are followed
+     * @param toRow builds the row of an inserted or updated entity, for example by reading it again;
+     *              returning null removes the row
+     * @param <E> the type of the entities
+     */
+    public <E> void follow(Class<E> entityType, Function<ChangeEvent<E>, T> toRow) {
+        List<ChangeEvent<E>> queued = new ArrayList<>();
+        Consumer<ChangeEvent<E>> listener = event -> {
+            synchronized (this) {
+                queued.add(event);
+                if (queued.size() > 1) {
+                    return;
+                }
+                pendingChanges = pendingChanges
+                        .thenComposeAsync(ignored -> AsyncDAO.supply(() -> buildRows(takeAll(queued), toRow)), Platform::runLater)
+                        .thenAcceptAsync(this::applyChanges, Platform::runLater)
+                        .exceptionally(error -> {
+                            LOGGER.log(Level.WARNING, "Error applying changes to " + entityType.getSimpleName(), error);
+                            return null;
+                        });
+            }
+        };
+        changeListener = listener;
+        ChangeBus.subscribe(entityType, listener);
+    }
+
+    /**
+     * Takes every queued change, leaving the queue empty so that the next change schedules a new group.
+     *
+     * @param queued the queued changes
+     * @param <E> the type of the entities
+     * @return the changes, in the order they were published
+     */
+    private synchronized <E> List<ChangeEvent<E>> takeAll(List<ChangeEvent<E>> queued) {
+        List<ChangeEvent<E>> changes = new ArrayList<>(queued);
+        queued.clear();
+        return changes;
+    }
+
+    /**
+     * Builds the rows of a group of changes. Returns null when the group is applied by reloading the table instead.
+     *
+     * @param changes the changes, in the order they were published
+     * @param toRow builds the row of an inserted or updated entity
+     * @param <E> the type of the entities
+     * @return the changes with their rows, or null to reload the table
+     */
+    private <E> List<RowChange<T>> buildRows(List<ChangeEvent<E>> changes, Function<ChangeEvent<E>, T> toRow) {
+        if (changes.size() > PAGE_SIZE) {
+            return null;
+        }
+        List<RowChange<T>> rows = new ArrayList<>(changes.size());
+        for (ChangeEvent<E> change : changes) {
+            if (change.getKind() == ChangeEvent.Kind.INVALIDATED) {
+                return null;
+            }
+            T row = change.getKind() == ChangeEvent.Kind.DELETED ? null : toRow.apply(change);
+            rows.add(new RowChange<>(change.getKind(), change.getId(), row));
+        }
+        return rows;
+    }
+
+    /**
+     * Applies a group of changes to the loaded rows. Must run on the JavaFX application thread.
+     *
+     * @param changes the changes with their rows, or null to reload the table
+     */
+    private void applyChanges(List<RowChange<T>> changes) {
+        if (changes == null) {
+            reset();
+            return;
+        }
+        for (RowChange<T> change : changes) {
+            applyChange(change.kind, change.key, change.row);
+        }
+    }
+
+    /**
+     * Applies one change to the loaded rows. Must run on the JavaFX application thread.
+     * Inserted rows beyond the loaded range are left to the page that will contain them.
+     *
+     * @param kind the kind of change
+     * @param key the key of the changed row
+     * @param row the new row, or null if the row is gone
+     */
+    void applyChange(ChangeEvent.Kind kind, int key, T row) {
+        if (kind == ChangeEvent.Kind.INVALIDATED) {
+            reset();
+            return;
+        }
+        int position = indexOf(key);
+        if (row == null) {
+            if (position >= 0) {
+                items.remove(position);
+            }
+        } else if (position >= 0) {
+            items.set(position, row);
+        } else if (key <= lastKey) {
+            items.add(-position - 1, row);
+        } else if (exhausted && !loading) {
+            items.add(row);
+            lastKey = key;
+        }
+    }
+
+    /**
+     * Finds a loaded row by key with a binary search, the rows being sorted by key.
+     *
+     * @param key the key
+     * @return the position of the row, or {@code -(insertion point) - 1} if no row has the key
+     */
+    private int indexOf(int key) {
+        int low = 0;
+        int high = items.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleKey = keyOf.applyAsInt(items.get(middle));
+            if (middleKey < key) {
+                low = middle + 1;
+            } else if (middleKey > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * The RowChange class is a change to apply to the loaded rows, with the row built for it.
+     *
+     * @param <T> the type of the rows
+     */
+    private static final class RowChange<T> {
+        private final ChangeEvent.Kind kind;
+        private final int key;
+        private final T row;
+
+        private RowChange(ChangeEvent.Kind kind, int key, T row) {
+            this.kind = kind;
+            this.key = key;
+            this.row = row;
+        }
+    }
+
+    /**
+     * Listens to the vertical scroll bar of the table and loads the next page when it nears the end.
+     */
+    private void attachScrollListener() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar scrollBar && scrollBar.getOrientation() == Orientation.VERTICAL) {
+                scrollBar.valueProperty().addListener((observable, oldValue, newValue) -> {
+                    if (newValue.doubleValue() >= scrollBar.getMax() * SCROLL_THRESHOLD) {
+                        loadNextPage();
+                    }
+                });
+            }
+        }
+    }
+}
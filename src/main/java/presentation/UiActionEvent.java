@@ -0,0 +1,25 @@
+package presentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The UiActionEvent class is the Java Flight Recorder event of one UI handler: the time it kept the JavaFX
+ * application thread busy. The statements the action triggers carry the same action id in their
+ * {@code dataAcessLayer.SqlExecution} events.
+ */
+@Name("presentation.UiAction")
+@Label("UI Action")
+@Category({"Order Management", "UI"})
+@Description("A UI handler run on the JavaFX application thread")
+class UiActionEvent extends Event {
+
+    @Label("Action")
+    String action;
+
+    @Label("Action Id")
+    long actionId;
+}
@@ -0,0 +1,36 @@
+package presentation;
+
+import dataAcessLayer.ActionContext;
+
+/**
+ * The UiTrace class runs UI handlers as named actions.
+ * The database work a handler starts through {@link FxAsync} runs on behalf of the same {@link ActionContext},
+ * and the time the handler spends on the JavaFX application thread is recorded as a {@link UiActionEvent}.
+ */
+final class UiTrace {
+
+    private UiTrace() {
+    }
+
+    /**
+     * Runs a handler as a new action.
+     *
+     * @param name the name of the action, for example "ControllerCreateOrder.finalizeOrder"
+     * @param handler the handler
+     */
+    static void run(String name, Runnable handler) {
+        ActionContext action = ActionContext.create(name);
+        UiActionEvent event = new UiActionEvent();
+        event.begin();
+        action.call(() -> {
+            handler.run();
+            return null;
+        });
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = name;
+            event.actionId = action.getId();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package presentation;
+
+import dataAcessLayer.UpdateResult;
+import javafx.scene.control.Alert;
+
+/**
+ * The UpdateResultAlert class tells the user why an edit was not saved.
+ * A conflict means someone else saved the same record first; the table already shows their values,
+ * because the DAO publishes the stored record, so the user can look at them and edit again.
+ */
+final class UpdateResultAlert {
+
+    private UpdateResultAlert() {
+    }
+
+    /**
+     * Shows an alert unless the update was saved.
+     *
+     * @param result the outcome of the update
+     * @param entityName the name of the record for the messages, for example "client"
+     * @return true if the update was saved, with or without a merge
+     */
+    static boolean check(UpdateResult<?> result, String entityName) {
+        if (result.isSuccessful()) {
+            return true;
+        }
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        switch (result.getStatus()) {
+            case CONFLICT -> {
+                alert.setTitle("Update Conflict");
+                alert.setContentText("The " + entityName + " was changed by someone else while you were editing it"
+                        + (result.getConflictingColumns().isEmpty() ? "" : " (" + String.join(", ", result.getConflictingColumns()) + ")")
+                        + ". The table now shows the saved values; please review them and edit again.");
+            }
+            case NOT_FOUND -> {
+                alert.setTitle("Update Failed");
+                alert.setContentText("The " + entityName + " no longer exists.");
+            }
+            default -> {
+                alert.setTitle("Update Failed");
+                alert.setContentText("The " + entityName + " could not be updated.");
+            }
+        }
+        alert.showAndWait();
+        return false;
+    }
+}
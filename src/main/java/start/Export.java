@@ -0,0 +1,53 @@
+package start;
+
+import connection.ConnectionFactory;
+import dataAcessLayer.ExportFormat;
+import dataAcessLayer.TableExporter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * The Export class exports the clients, products and orders tables without starting the user interface.
+ * Usage: {@code Export <directory> [csv|jsonl] [--gzip]}.
+ */
+public class Export {
+
+    /**
+     * Exports every table into the given directory.
+     *
+     * @param args the target directory, optionally followed by the format (csv by default) and --gzip
+     * @throws IOException if a file cannot be written
+     * @throws SQLException if a table cannot be read
+     */
+    public static void main(String[] args) throws IOException, SQLException {
+        if (args.length < 1) {
+            System.err.println("Usage: Export <directory> [csv|jsonl] [--gzip]");
+            System.exit(2);
+        }
+        Path directory = Path.of(args[0]);
+        ExportFormat format = ExportFormat.CSV;
+        boolean gzip = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--gzip")) {
+                gzip = true;
+            } else if (args[i].equalsIgnoreCase(ExportFormat.JSON_LINES.getExtension())) {
+                format = ExportFormat.JSON_LINES;
+            } else if (!args[i].equalsIgnoreCase(ExportFormat.CSV.getExtension())) {
+                System.err.println("Unknown option " + args[i]);
+                System.exit(2);
+            }
+        }
+        Files.createDirectories(directory);
+        try {
+            long start = System.nanoTime();
+            Map<String, Long> counts = new TableExporter().exportAll(directory, format, gzip);
+            counts.forEach((table, rows) -> System.out.println("Exported " + rows + " rows from " + table));
+            System.out.println("Done in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } finally {
+            ConnectionFactory.shutdown();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package start;
+
+import connection.ConnectionFactory;
+import dataAcessLayer.SalesSummary;
+import java.sql.SQLException;
+
+/**
+ * The RebuildSalesSummary class recomputes the sales summary table from the orders without starting the user interface.
+ * It should be run once after creating the table, and again whenever the summary may have drifted,
+ * for example after orders were changed directly in the database or product prices changed.
+ */
+public class RebuildSalesSummary {
+
+    /**
+     * Recomputes the sales summary.
+     *
+     * @param args not used
+     * @throws SQLException if the summary cannot be rebuilt
+     */
+    public static void main(String[] args) throws SQLException {
+        try {
+            long start = System.nanoTime();
+            long rows = SalesSummary.rebuild();
+            System.out.println("Rebuilt " + rows + " sales summary rows in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } finally {
+            ConnectionFactory.shutdown();
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package start;
 
-import java.io.IOException;
+import businessLayer.InventoryLedger;
+import businessLayer.OrderPlacementService;
+import connection.ConnectionFactory;
+import dataAcessLayer.AsyncDAO;
+import dataAcessLayer.ChangeFeed;
+import dataAcessLayer.ClientDAO;
+import dataAcessLayer.DaoMetrics;
+import dataAcessLayer.ProductDAO;
+import dataAcessLayer.RowMapper;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
+import model.ClientSales;
+import model.DailySales;
+import model.OrderDetails;
+import model.ProductSales;
+import presentation.SceneManager;
 
 /**
  * The Start class is the entry point of the application.
@@ -14,16 +25,43 @@ public class Start extends Application {
     /**
      * The start method is the main entry point for all JavaFX applications.
      * It is called after the init method has returned, and after the system is ready for the application to begin running.
+     * The client and product search indexes start loading in the background, and the change feed starts
+     * exchanging changes with the other instances of the application.
+     * DAO metrics are logged periodically when the dao.metrics.logSeconds system property is set.
+     * Once the intro screen is shown, the other screens are loaded ahead of time, and the connection pool
+     * and the row mappers of the views are prepared in the background.
      *
      * @param primaryStage the primary stage for this application, onto which the application scene can be set.
-     * @throws IOException if loading the fxml file fails.
      */
     @Override
-    public void start(Stage primaryStage) throws IOException {
-        FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/intro.fxml"));
-        Scene scene = new Scene(fxmlLoader.load(), 600, 400);
-        primaryStage.setScene(scene);
-        primaryStage.show();
+    public void start(Stage primaryStage) {
+        AsyncDAO.run(() -> {
+            ConnectionFactory.warmUp(AsyncDAO.MAX_CONCURRENT_OPERATIONS);
+            RowMapper.forType(OrderDetails.class);
+            RowMapper.forType(ProductSales.class);
+            RowMapper.forType(ClientSales.class);
+            RowMapper.forType(DailySales.class);
+        });
+        ClientDAO clientDAO = new ClientDAO();
+        ProductDAO productDAO = new ProductDAO();
+        AsyncDAO.run(() -> ClientDAO.getSearchIndex().ensureLoaded(clientDAO::streamAll));
+        AsyncDAO.run(() -> ProductDAO.getSearchIndex().ensureLoaded(productDAO::streamAll));
+        AsyncDAO.run(ChangeFeed::start);
+        DaoMetrics.startLogging(Long.getLong("dao.metrics.logSeconds", 0));
+        SceneManager.show(primaryStage, "intro.fxml", "Intro");
+        SceneManager.warmUp("clientOperations.fxml", "productOperations.fxml", "orderOperations.fxml", "createProductOrder.fxml");
+    }
+
+    /**
+     * Called when the application exits. Writes the queued orders, pending stock changes and the queued
+     * change log entries, then closes the pooled database connections.
+     */
+    @Override
+    public void stop() {
+        OrderPlacementService.shutdown();
+        InventoryLedger.getInstance().flush();
+        ChangeFeed.stop();
+        ConnectionFactory.shutdown();
     }
 
     /**
@@ -0,0 +1,110 @@
+package businessLayer;
+
+import dataAcessLayer.ProductDAO;
+import dataAcessLayer.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The InventoryLedgerTest class checks the in-memory stock of the ledger and its write-back to the product table.
+ * The ledger is shared by the whole JVM and flushes in the background, so every test uses its own product
+ * and waits for database values instead of expecting them right after a flush.
+ */
+class InventoryLedgerTest {
+
+    private static final int STOCK = 100;
+    private static final long WAIT_MS = 2_000;
+
+    private final InventoryLedger ledger = InventoryLedger.getInstance();
+    private final ProductDAO productDAO = new ProductDAO();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        TestDatabase.create(1, 3, 0, STOCK);
+    }
+
+    /**
+     * A reservation takes stock only if enough is available, and a cancelled one gives it back.
+     * Neither writes the product table, which is the caller's part of the reservation.
+     */
+    @Test
+    void reserveTakesOnlyAvailableStock() {
+        int productId = 1;
+        assertTrue(ledger.reserve(productId, 30));
+        assertEquals(STOCK - 30, ledger.available(productId));
+        assertFalse(ledger.reserve(productId, STOCK - 29));
+        assertEquals(STOCK - 30, ledger.available(productId));
+
+        ledger.cancelReservation(productId, 30);
+        assertEquals(STOCK, ledger.available(productId));
+        assertTrue(ledger.reserve(productId, STOCK));
+        ledger.confirmReservation(productId, STOCK);
+        assertEquals(0, ledger.available(productId));
+        assertEquals(STOCK, storedStock(productId));
+    }
+
+    /**
+     * Released stock is available at once and written to the product table once, however many flushes follow.
+     */
+    @Test
+    void releasedStockIsFlushedOnce() throws InterruptedException {
+        int productId = 2;
+        ledger.available(productId);
+        ledger.release(productId, 5);
+        ledger.release(productId, 7);
+        assertEquals(STOCK + 12, ledger.available(productId));
+
+        ledger.flush();
+        awaitEquals(STOCK + 12, () -> storedStock(productId));
+        ledger.flush();
+        assertEquals(STOCK + 12, storedStock(productId));
+        assertEquals(STOCK + 12, ledger.available(productId));
+    }
+
+    /**
+     * A reload after a direct change to the product table keeps the stock released but not yet flushed.
+     */
+    @Test
+    void refreshKeepsUnflushedRelease() throws SQLException, InterruptedException {
+        int productId = 3;
+        ledger.available(productId);
+        TestDatabase.execute("UPDATE product SET stock_quantity = 50 WHERE product_id = " + productId);
+        ledger.release(productId, 5);
+        ledger.refresh(productId);
+        awaitEquals(55, () -> ledger.available(productId));
+
+        ledger.flush();
+        awaitEquals(55, () -> storedStock(productId));
+    }
+
+    /**
+     * Reads the stock of a product from the product table, bypassing the ledger and the entity cache.
+     *
+     * @param productId the id of the product
+     * @return the stored stock
+     */
+    private int storedStock(int productId) {
+        return productDAO.findById(productId, "product").getStock_quantity();
+    }
+
+    /**
+     * Waits until a value reaches the expected one, failing with the last value if it does not in time.
+     *
+     * @param expected the expected value
+     * @param actual reads the current value
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void awaitEquals(int expected, IntSupplier actual) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (actual.getAsInt() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, actual.getAsInt());
+    }
+}
@@ -0,0 +1,72 @@
+package connection;
+
+import dataAcessLayer.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The ConnectionPoolTest class checks that a pooled connection closed twice, or used after being closed,
+ * cannot affect the next borrowers of the pool.
+ */
+class ConnectionPoolTest {
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        TestDatabase.create(1, 1, 0, 10);
+    }
+
+    /**
+     * Closing a connection twice returns it to the pool only once, so two connections acquired afterwards
+     * are backed by two different database sessions.
+     */
+    @Test
+    void doubleCloseReturnsTheConnectionOnce() throws SQLException {
+        Connection first = ConnectionFactory.getConnection();
+        first.close();
+        first.close();
+        try (Connection second = ConnectionFactory.getConnection();
+             Connection third = ConnectionFactory.getConnection()) {
+            assertNotEquals(sessionId(second), sessionId(third));
+        }
+    }
+
+    /**
+     * A connection used after it was closed fails instead of running on the session of the next borrower,
+     * and closing it again leaves that borrower's connection usable.
+     */
+    @Test
+    void closedConnectionRejectsUse() throws SQLException {
+        Connection first = ConnectionFactory.getConnection();
+        first.close();
+        try (Connection second = ConnectionFactory.getConnection()) {
+            assertTrue(first.isClosed());
+            assertThrows(SQLException.class, first::createStatement);
+            first.close();
+            assertTrue(second.isValid(1));
+            sessionId(second);
+        }
+    }
+
+    /**
+     * Reads the id of the database session behind a connection.
+     *
+     * @param connection the connection
+     * @return the session id
+     * @throws SQLException if the query fails
+     */
+    private static int sessionId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT SESSION_ID()")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package dataAcessLayer;
+
+import model.Client;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The ChangeFeedTest class checks that the change log entries of a write are written in the transaction of the write.
+ */
+class ChangeFeedTest {
+
+    private static final String ENTRIES = "SELECT entity, entity_id, kind FROM changelog ORDER BY changelog_id";
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        TestDatabase.create(1, 2, 0, 100);
+        ChangeFeed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ChangeFeed.stop();
+    }
+
+    /**
+     * A committed write is in the log as soon as it returns, without waiting for a flush.
+     */
+    @Test
+    void committedWriteIsLogged() throws SQLException {
+        Client client = new Client(0, "Ana", "ana@example.com", "0700000000", "Street 1");
+        new ClientDAO().insertClient(client);
+        new ClientDAO().delete(client);
+        assertEquals(List.of("client " + client.getClient_id() + " INSERTED", "client " + client.getClient_id() + " DELETED"),
+                TestDatabase.rows(ENTRIES));
+    }
+
+    /**
+     * A write that is rolled back leaves no entry, so the other instances are not told about a change that never happened.
+     */
+    @Test
+    void rolledBackWriteIsNotLogged() throws SQLException {
+        Map<Integer, Integer> deltas = new LinkedHashMap<>();
+        deltas.put(1, 5);
+        deltas.put(2, Integer.MAX_VALUE);
+        assertThrows(SQLException.class, () -> new ProductDAO().adjustStock(deltas));
+        assertTrue(TestDatabase.rows(ENTRIES).isEmpty());
+    }
+
+    /**
+     * A batch insert, whose ids are not read back, logs one invalidation per chunk.
+     */
+    @Test
+    void batchInsertLogsInvalidation() throws SQLException {
+        ClientDAO clientDAO = new ClientDAO();
+        clientDAO.setBatchSize(2);
+        BatchResult<Client> result = clientDAO.insertAllUnannounced(List.of(
+                new Client(0, "A", "a@example.com", "0700000001", "Street"),
+                new Client(0, "B", "b@example.com", "0700000002", "Street"),
+                new Client(0, "C", "c@example.com", "0700000003", "Street")));
+        assertTrue(result.isSuccessful(), result.toString());
+        assertEquals(List.of("client 0 INVALIDATED", "client 0 INVALIDATED"), TestDatabase.rows(ENTRIES));
+    }
+}
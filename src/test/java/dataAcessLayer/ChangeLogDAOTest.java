@@ -0,0 +1,61 @@
+package dataAcessLayer;
+
+import model.ChangeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The ChangeLogDAOTest class checks the sequence numbers the change log hands out to polling instances.
+ */
+class ChangeLogDAOTest {
+
+    private final ChangeLogDAO changeLogDAO = new ChangeLogDAO();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        TestDatabase.create(1, 1, 0, 10);
+    }
+
+    /**
+     * An empty log has the sequence number 0, so a new instance starts polling from the beginning.
+     */
+    @Test
+    void lastSeqOfEmptyLogIsZero() {
+        assertEquals(0, changeLogDAO.lastSeq());
+    }
+
+    /**
+     * After a batch of entries, the last sequence number is the one of the newest entry
+     * and nothing is left to poll after it.
+     */
+    @Test
+    void lastSeqIsTheNewestEntry() {
+        String instance = UUID.randomUUID().toString();
+        BatchResult<ChangeLog> result = changeLogDAO.insertAll(List.of(
+                new ChangeLog("Client", 1, "UPDATED", instance),
+                new ChangeLog("Product", 1, "UPDATED", instance),
+                new ChangeLog("Orders", 7, "DELETED", instance)));
+        assertTrue(result.isSuccessful(), result.toString());
+
+        List<ChangeLog> entries = changeLogDAO.changesSince(0, 10);
+        assertEquals(3, entries.size());
+        long newest = entries.get(entries.size() - 1).getChangelog_id();
+        assertEquals(newest, changeLogDAO.lastSeq());
+        assertTrue(changeLogDAO.changesSince(newest, 10).isEmpty());
+    }
+
+    /**
+     * A log that cannot be read is reported as -1, not mistaken for an empty log.
+     */
+    @Test
+    void lastSeqOfUnreadableLogIsMinusOne() throws SQLException {
+        TestDatabase.execute("DROP TABLE changelog");
+        assertEquals(-1, changeLogDAO.lastSeq());
+    }
+}
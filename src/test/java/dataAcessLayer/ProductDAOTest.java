@@ -0,0 +1,51 @@
+package dataAcessLayer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The ProductDAOTest class checks the relative stock updates the inventory ledger writes back.
+ */
+class ProductDAOTest {
+
+    private static final int STOCK = 100;
+
+    private final ProductDAO productDAO = new ProductDAO();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        TestDatabase.create(1, 3, 0, STOCK);
+    }
+
+    /**
+     * Every amount is added to the stock of its product.
+     */
+    @Test
+    void adjustStockAddsEveryAmount() throws SQLException {
+        Map<Integer, Integer> deltas = new LinkedHashMap<>();
+        deltas.put(1, 5);
+        deltas.put(2, -7);
+        productDAO.adjustStock(deltas);
+        assertEquals(STOCK + 5, productDAO.findById(1, "product").getStock_quantity());
+        assertEquals(STOCK - 7, productDAO.findById(2, "product").getStock_quantity());
+    }
+
+    /**
+     * When one amount cannot be written, none is, so the caller can retry the whole batch without counting any twice.
+     */
+    @Test
+    void failedAdjustStockWritesNothing() {
+        Map<Integer, Integer> deltas = new LinkedHashMap<>();
+        deltas.put(1, 5);
+        deltas.put(2, Integer.MAX_VALUE);
+        assertThrows(SQLException.class, () -> productDAO.adjustStock(deltas));
+        assertEquals(STOCK, productDAO.findById(1, "product").getStock_quantity());
+        assertEquals(STOCK, productDAO.findById(2, "product").getStock_quantity());
+    }
+}
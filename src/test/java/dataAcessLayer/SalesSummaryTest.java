@@ -0,0 +1,83 @@
+package dataAcessLayer;
+
+import model.Orders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * The SalesSummaryTest class checks that the sales summary maintained on every order write
+ * always equals the aggregation of the orders table it stands for.
+ */
+class SalesSummaryTest {
+
+    private static final String SUMMARY = "SELECT order_date, product_id, order_count, units_sold FROM sales_summary "
+            + "ORDER BY order_date, product_id";
+    private static final String AGGREGATED = "SELECT order_date, product_id, COUNT(*), SUM(quantity) FROM orders "
+            + "GROUP BY order_date, product_id ORDER BY order_date, product_id";
+
+    private final OrderDAO orderDAO = new OrderDAO();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        TestDatabase.create(5, 5, 50, 1_000);
+    }
+
+    /**
+     * Inserting, editing, moving and deleting orders keeps the summary equal to the aggregation,
+     * including rows whose last order went away.
+     */
+    @Test
+    void summaryFollowsOrderWrites() throws SQLException {
+        Date day = Date.valueOf(LocalDate.of(2024, 3, 1));
+        Orders first = new Orders(0, 1, 2, 3, day);
+        Orders second = new Orders(0, 2, 2, 4, day);
+        orderDAO.insertOrder(first);
+        orderDAO.insertOrder(second);
+        assertEquals(TestDatabase.rows(AGGREGATED), TestDatabase.rows(SUMMARY));
+
+        Orders edited = new Orders(first.getOrder_id(), 1, 3, 5, Date.valueOf(LocalDate.of(2024, 3, 2)));
+        edited.setVersion(first.getVersion());
+        assertEquals(UpdateResult.Status.UPDATED, orderDAO.updateOrder(edited).getStatus());
+        assertEquals(TestDatabase.rows(AGGREGATED), TestDatabase.rows(SUMMARY));
+
+        assertEquals(2, orderDAO.updateOrderDates(new int[]{1, 2}, Date.valueOf(LocalDate.of(2024, 3, 2))));
+        assertEquals(TestDatabase.rows(AGGREGATED), TestDatabase.rows(SUMMARY));
+
+        orderDAO.delete(second);
+        assertFalse(orderDAO.deleteOrders(new int[]{3, 4, edited.getOrder_id()}).isEmpty());
+        assertEquals(TestDatabase.rows(AGGREGATED), TestDatabase.rows(SUMMARY));
+    }
+
+    /**
+     * A stale versioned update leaves both the order and the summary untouched.
+     */
+    @Test
+    void conflictingUpdateLeavesSummaryUnchanged() throws SQLException {
+        Orders stored = orderDAO.findById(1, "orders");
+        Orders stale = new Orders(stored.getOrder_id(), stored.getClient_id(), stored.getProduct_id(),
+                stored.getQuantity() + 10, stored.getOrder_date());
+        stale.setVersion(stored.getVersion() + 1);
+        List<String> before = TestDatabase.rows(SUMMARY);
+
+        assertEquals(UpdateResult.Status.CONFLICT, orderDAO.updateOrder(stale).getStatus());
+        assertEquals(before, TestDatabase.rows(SUMMARY));
+        assertEquals(TestDatabase.rows(AGGREGATED), TestDatabase.rows(SUMMARY));
+    }
+
+    /**
+     * A rebuild recomputes the same summary the incremental writes maintain.
+     */
+    @Test
+    void rebuildMatchesAggregation() throws SQLException {
+        orderDAO.insertOrder(new Orders(0, 1, 1, 2, Date.valueOf(LocalDate.of(2025, 1, 1))));
+        SalesSummary.rebuild();
+        assertEquals(TestDatabase.rows(AGGREGATED), TestDatabase.rows(SUMMARY));
+    }
+}
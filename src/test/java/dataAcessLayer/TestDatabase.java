@@ -0,0 +1,149 @@
+package dataAcessLayer;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * The TestDatabase class sets up the in-memory H2 database, in MySQL mode, that the tests run against.
+ * Surefire points ConnectionFactory at it through the db.url, db.user and db.password system properties;
+ * the statements of this class open their own connections, so they neither use nor disturb the pool.
+ */
+public final class TestDatabase {
+
+    private static final String URL = System.getProperty("db.url");
+    private static final String USER = System.getProperty("db.user");
+    private static final String PASSWORD = System.getProperty("db.password", "");
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Recreates the client, product, orders, sales_summary and changelog tables, with the same columns as the MySQL dump,
+     * and fills all but the change log.
+     *
+     * @param clients the number of clients to insert
+     * @param products the number of products to insert
+     * @param orders the number of orders to insert
+     * @param stock the stock quantity of every product
+     * @throws SQLException if the database cannot be created
+     */
+    public static void create(int clients, int products, int orders, int stock) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS client");
+            statement.execute("DROP TABLE IF EXISTS product");
+            statement.execute("DROP TABLE IF EXISTS orders");
+            statement.execute("DROP TABLE IF EXISTS sales_summary");
+            statement.execute("DROP TABLE IF EXISTS changelog");
+            statement.execute("CREATE TABLE client (client_id INT NOT NULL AUTO_INCREMENT, name VARCHAR(45) NOT NULL, "
+                    + "email VARCHAR(45) NOT NULL, address VARCHAR(45), phone_number VARCHAR(20), version INT NOT NULL DEFAULT 0, PRIMARY KEY (client_id))");
+            statement.execute("CREATE TABLE product (product_id INT NOT NULL AUTO_INCREMENT, name VARCHAR(45) NOT NULL, "
+                    + "price INT NOT NULL, stock_quantity INT NOT NULL, description VARCHAR(45), version INT NOT NULL DEFAULT 0, PRIMARY KEY (product_id))");
+            statement.execute("CREATE TABLE orders (order_id INT NOT NULL AUTO_INCREMENT, client_id INT, product_id INT, "
+                    + "quantity INT NOT NULL, order_date DATE, version INT NOT NULL DEFAULT 0, PRIMARY KEY (order_id))");
+            statement.execute("CREATE TABLE sales_summary (order_date DATE NOT NULL, product_id INT NOT NULL, "
+                    + "order_count INT NOT NULL, units_sold BIGINT NOT NULL, PRIMARY KEY (order_date, product_id))");
+            statement.execute("CREATE TABLE changelog (changelog_id BIGINT NOT NULL AUTO_INCREMENT, entity VARCHAR(16) NOT NULL, "
+                    + "entity_id INT NOT NULL, kind VARCHAR(12) NOT NULL, instance_id CHAR(36) NOT NULL, "
+                    + "changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (changelog_id))");
+
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO client (name, email, address, phone_number) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= clients; i++) {
+                    insert.setString(1, "Client " + i);
+                    insert.setString(2, "client" + i + "@example.com");
+                    insert.setString(3, "Street " + i);
+                    insert.setString(4, String.format("07%08d", i));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO product (name, price, stock_quantity, description) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= products; i++) {
+                    insert.setString(1, "Product " + i);
+                    insert.setInt(2, 1 + i % 100);
+                    insert.setInt(3, stock);
+                    insert.setString(4, "Description " + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO orders (client_id, product_id, quantity, order_date) VALUES (?, ?, ?, ?)")) {
+                LocalDate start = LocalDate.of(2024, 1, 1);
+                for (int i = 1; i <= orders; i++) {
+                    insert.setInt(1, 1 + i % Math.max(1, clients));
+                    insert.setInt(2, 1 + i % Math.max(1, products));
+                    insert.setInt(3, 1 + i % 5);
+                    insert.setDate(4, Date.valueOf(start.plusDays(i % 30)));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            statement.execute("INSERT INTO sales_summary (order_date, product_id, order_count, units_sold) "
+                    + "SELECT order_date, product_id, COUNT(*), SUM(quantity) FROM orders GROUP BY order_date, product_id");
+            connection.commit();
+        }
+    }
+
+    /**
+     * Runs a statement directly on the database, outside the DAOs, for example to simulate another application.
+     *
+     * @param sql the statement
+     * @return the number of rows changed
+     * @throws SQLException if the statement fails
+     */
+    public static int execute(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(sql);
+        }
+    }
+
+    /**
+     * Reads the rows of a query as strings, one per row with the columns separated by spaces,
+     * so that two results can be compared as lists.
+     *
+     * @param query the query
+     * @return the rows, in the order of the query
+     * @throws SQLException if the query fails
+     */
+    public static List<String> rows(String query) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            while (resultSet.next()) {
+                StringJoiner row = new StringJoiner(" ");
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    row.add(String.valueOf(resultSet.getObject(column)));
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Opens a connection to the test database that does not come from the pool.
+     *
+     * @return the connection
+     * @throws SQLException if the connection cannot be opened
+     */
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, USER, PASSWORD);
+    }
+}
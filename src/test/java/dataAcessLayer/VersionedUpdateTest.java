@@ -0,0 +1,130 @@
+package dataAcessLayer;
+
+import model.Client;
+import model.Orders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The VersionedUpdateTest class checks the compare-and-set updates: a write based on a stale version
+ * is rejected with the stored row, and merged when the two edits changed different fields.
+ */
+class VersionedUpdateTest {
+
+    private final ClientDAO clientDAO = new ClientDAO();
+    private final OrderDAO orderDAO = new OrderDAO();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        TestDatabase.create(3, 3, 3, 10);
+    }
+
+    /**
+     * An update with the version read increments the version; repeating it with the old version is a conflict
+     * carrying the stored row, and leaves the row as the first update wrote it.
+     */
+    @Test
+    void staleClientUpdateConflicts() {
+        Client stored = clientDAO.findById(1, "client");
+        Client first = copy(stored);
+        first.setName("First");
+        assertEquals(UpdateResult.Status.UPDATED, clientDAO.updateClient(first).getStatus());
+        assertEquals(stored.getVersion() + 1, first.getVersion());
+
+        Client stale = copy(stored);
+        stale.setName("Stale");
+        UpdateResult<Client> result = clientDAO.updateClient(stale);
+        assertEquals(UpdateResult.Status.CONFLICT, result.getStatus());
+        assertEquals("First", result.getEntity().getName());
+        assertEquals(first.getVersion(), result.getEntity().getVersion());
+        assertEquals("First", clientDAO.findById(1, "client").getName());
+    }
+
+    /**
+     * Two edits of the same client that change different fields are merged, keeping both changes.
+     */
+    @Test
+    void editsOfDifferentFieldsMerge() {
+        Client original = clientDAO.findById(1, "client");
+        Client theirs = copy(original);
+        theirs.setEmail("theirs@example.com");
+        assertEquals(UpdateResult.Status.UPDATED, clientDAO.updateClient(theirs).getStatus());
+
+        Client mine = copy(original);
+        mine.setName("Mine");
+        assertEquals(UpdateResult.Status.MERGED, clientDAO.updateClient(original, mine).getStatus());
+
+        Client stored = clientDAO.findById(1, "client");
+        assertEquals("Mine", stored.getName());
+        assertEquals("theirs@example.com", stored.getEmail());
+        assertEquals(original.getVersion() + 2, stored.getVersion());
+    }
+
+    /**
+     * Two edits of the same field are a conflict that names the field and writes nothing.
+     */
+    @Test
+    void editsOfTheSameFieldConflict() {
+        Client original = clientDAO.findById(1, "client");
+        Client theirs = copy(original);
+        theirs.setName("Theirs");
+        clientDAO.updateClient(theirs);
+
+        Client mine = copy(original);
+        mine.setName("Mine");
+        UpdateResult<Client> result = clientDAO.updateClient(original, mine);
+        assertEquals(UpdateResult.Status.CONFLICT, result.getStatus());
+        assertEquals(List.of("name"), result.getConflictingColumns());
+        assertEquals("Theirs", clientDAO.findById(1, "client").getName());
+    }
+
+    /**
+     * An order update with a stale version is a conflict carrying the order as stored, and a missing order is reported.
+     */
+    @Test
+    void staleOrderUpdateConflicts() {
+        Orders stored = orderDAO.findById(1, "orders");
+        Orders first = copy(stored);
+        first.setQuantity(stored.getQuantity() + 1);
+        assertEquals(UpdateResult.Status.UPDATED, orderDAO.updateOrder(first).getStatus());
+
+        Orders stale = copy(stored);
+        stale.setQuantity(stored.getQuantity() + 2);
+        UpdateResult<Orders> result = orderDAO.updateOrder(stale);
+        assertEquals(UpdateResult.Status.CONFLICT, result.getStatus());
+        assertEquals(first.getQuantity(), result.getEntity().getQuantity());
+        assertEquals(first.getVersion(), result.getEntity().getVersion());
+
+        Orders missing = copy(stored);
+        missing.setOrder_id(1_000);
+        assertEquals(UpdateResult.Status.NOT_FOUND, orderDAO.updateOrder(missing).getStatus());
+    }
+
+    /**
+     * Copies a client together with its version.
+     *
+     * @param client the client
+     * @return the copy
+     */
+    private static Client copy(Client client) {
+        Client copy = new Client(client.getClient_id(), client.getName(), client.getEmail(), client.getPhone_number(), client.getAddress());
+        copy.setVersion(client.getVersion());
+        return copy;
+    }
+
+    /**
+     * Copies an order together with its version.
+     *
+     * @param order the order
+     * @return the copy
+     */
+    private static Orders copy(Orders order) {
+        Orders copy = new Orders(order.getOrder_id(), order.getClient_id(), order.getProduct_id(), order.getQuantity(), order.getOrder_date());
+        copy.setVersion(order.getVersion());
+        return copy;
+    }
+}